@@ -0,0 +1,9 @@
+-- 用户列表查询计划所需的索引（已有库执行一次，新建库已包含在 create_table.sql 中）
+-- 对应 UserQueryPlanner 中登记的索引，按创建时间排序、按角色过滤后按创建时间排序时不再 filesort
+use ping_ai_code_generation;
+
+alter table user
+    add index idx_createTime (createTime),
+    add index idx_userRole_createTime (userRole, createTime),
+    algorithm = inplace,
+    lock = none;
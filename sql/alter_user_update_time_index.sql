@@ -0,0 +1,8 @@
+-- 用户搜索索引所需的 updateTime 索引（已有库执行一次，新建库已包含在 create_table.sql 中）
+-- 本地搜索索引的候选 id 需与最近一次重建之后更新的用户合并（id in (...) or updateTime >= ?），两个条件都能走索引
+use ping_ai_code_generation;
+
+alter table user
+    add index idx_updateTime (updateTime),
+    algorithm = inplace,
+    lock = none;
@@ -23,5 +23,66 @@ create table if not exists user
     updateTime    datetime     default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete      tinyint      default 0                 not null comment '是否删除',
     UNIQUE KEY uk_userAccount (userAccount),
-    INDEX idx_userName (userName)
+    INDEX idx_userName (userName),
+    INDEX idx_createTime (createTime),
+    INDEX idx_updateTime (updateTime),
+    INDEX idx_userRole_createTime (userRole, createTime)
 ) comment '用户' collate = utf8mb4_unicode_ci;
+
+-- 用户登录记录表（登录审计异步批量写入）
+create table if not exists user_login_log
+(
+    id          bigint auto_increment comment 'id' primary key,
+    userId      bigint                             null comment '用户 id（账号或密码错误时为空）',
+    userAccount varchar(256)                       not null comment '登录账号',
+    ip          varchar(64)                        null comment '登录 IP',
+    success     tinyint                            not null comment '是否成功：0-失败 1-成功',
+    loginTime   datetime default CURRENT_TIMESTAMP not null comment '登录时间',
+    INDEX idx_userId (userId),
+    INDEX idx_userAccount (userAccount)
+) comment '用户登录记录' collate = utf8mb4_unicode_ci;
+
+-- 已删除用户归档表（逻辑删除超过保留期的用户由定时任务移入）
+create table if not exists user_archive
+(
+    id            bigint                                 not null comment 'id' primary key,
+    userAccount   varchar(256)                           not null comment '账号',
+    userPassword  varchar(512)                           not null comment '密码',
+    userName      varchar(256)                           null comment '用户昵称',
+    userAvatar    varchar(1024)                          null comment '用户头像',
+    userProfile   varchar(512)                           null comment '用户简介',
+    userRole      varchar(256) default 'user'            not null comment '用户角色：user/admin',
+    vipExpireTime datetime                               null comment '会员过期时间',
+    vipCode       varchar(128)                           null comment '会员兑换码',
+    vipNumber     bigint                                 null comment '会员编号',
+    shareCode     varchar(20)  DEFAULT NULL COMMENT '分享码',
+    inviteUser    bigint       DEFAULT NULL COMMENT '邀请用户 id',
+    editTime      datetime                               not null comment '编辑时间',
+    createTime    datetime                               not null comment '创建时间',
+    updateTime    datetime                               not null comment '更新时间（删除时间）',
+    isDelete      tinyint      default 1                 not null comment '是否删除',
+    archiveTime   datetime     default CURRENT_TIMESTAMP not null comment '归档时间',
+    INDEX idx_userAccount (userAccount)
+) comment '已删除用户归档' collate = utf8mb4_unicode_ci;
+
+-- 归档任务检查点
+create table if not exists archive_checkpoint
+(
+    name       varchar(64)                        not null comment '任务名' primary key,
+    lastId     bigint   default 0                 not null comment '本轮已处理到的 id',
+    updateTime datetime default CURRENT_TIMESTAMP not null comment '更新时间'
+) comment '归档任务检查点' collate = utf8mb4_unicode_ci;
+
+-- 预置检查点行：归档时对其加行锁，行不存在时 for update 只加间隙锁，无法互斥
+insert ignore into archive_checkpoint (name) values ('user');
+
+-- 雪花 id 工作节点租约表
+create table if not exists id_worker
+(
+    datacenterId    int                   not null comment '数据中心 id',
+    workerId        int                   not null comment '工作节点 id',
+    instance        varchar(128)          not null comment '持有租约的实例（IP:进程号）',
+    lastTimestamp   bigint      default 0 not null comment '已发出的最大时间戳（毫秒）',
+    heartbeatMillis bigint      default 0 not null comment '最近一次续约时间（毫秒），0 表示已释放',
+    primary key (datacenterId, workerId)
+) comment '雪花 id 工作节点' collate = utf8mb4_unicode_ci;
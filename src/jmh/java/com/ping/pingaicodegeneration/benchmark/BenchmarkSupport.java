@@ -0,0 +1,102 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.ping.pingaicodegeneration.config.PasswordHashProperties;
+import com.ping.pingaicodegeneration.config.UserQueryPlanProperties;
+import com.ping.pingaicodegeneration.config.UserSearchIndexProperties;
+import com.ping.pingaicodegeneration.manager.PasswordHashManager;
+import com.ping.pingaicodegeneration.manager.UserQueryPlanner;
+import com.ping.pingaicodegeneration.manager.UserSearchIndexManager;
+import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
+import com.ping.pingaicodegeneration.service.impl.UserServiceImpl;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试公用的对象构造（不启动 Spring 容器、不连接数据库）
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 构造用户服务，只注入基准测试覆盖的路径用到的依赖
+     *
+     * @param passwordHashManager 密码加密管理器
+     * @return 用户服务
+     */
+    static UserServiceImpl newUserService(PasswordHashManager passwordHashManager) {
+        UserSearchIndexManager userSearchIndexManager = new UserSearchIndexManager();
+        inject(userSearchIndexManager, "userSearchIndexProperties", new UserSearchIndexProperties());
+        UserQueryPlanner userQueryPlanner = new UserQueryPlanner();
+        inject(userQueryPlanner, "userQueryPlanProperties", new UserQueryPlanProperties());
+        UserServiceImpl userService = new UserServiceImpl();
+        inject(userService, "userSearchIndexManager", userSearchIndexManager);
+        inject(userService, "userQueryPlanner", userQueryPlanner);
+        inject(userService, "passwordHashManager", passwordHashManager);
+        return userService;
+    }
+
+    /**
+     * 构造密码加密管理器
+     *
+     * @param algorithm 加密算法
+     * @return 密码加密管理器
+     */
+    static PasswordHashManager newPasswordHashManager(String algorithm) {
+        PasswordHashProperties passwordHashProperties = new PasswordHashProperties();
+        passwordHashProperties.setAlgorithm(algorithm);
+        return new PasswordHashManager(passwordHashProperties);
+    }
+
+    /**
+     * 构造一个字段填满的用户
+     *
+     * @param id 用户 id
+     * @return 用户
+     */
+    static User newUser(long id) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+        User user = new User();
+        user.setId(1_900_000_000_000_000_000L + id);
+        user.setUserAccount("account" + id);
+        user.setUserPassword("5f4dcc3b5aa765d61d8327deb882cf99");
+        user.setUserName("用户" + id);
+        user.setUserAvatar("https://example.com/avatar/" + id + ".png");
+        user.setUserProfile("这是用户 " + id + " 的个人简介");
+        user.setUserRole(UserRoleEnum.USER.getValue());
+        user.setEditTime(now);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setIsDelete(0);
+        return user;
+    }
+
+    /**
+     * 构造用户列表
+     *
+     * @param size 数量
+     * @return 用户列表
+     */
+    static List<User> newUserList(int size) {
+        List<User> userList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            userList.add(newUser(i));
+        }
+        return userList;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + " 中不存在字段 " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.mybatisflex.core.keygen.impl.SnowFlakeIDKeyGenerator;
+import com.ping.pingaicodegeneration.manager.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户 id 生成器多线程吞吐基准测试
+ * <p>
+ * 与 MyBatis-Flex 自带的雪花算法（synchronized）对比；单节点每毫秒最多 4096 个 id，
+ * 吞吐上限约 409 万/秒，超过后两者都要等下一毫秒（本实现先借用后续毫秒），差异主要体现在锁争用
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    @Param({"1", "16"})
+    private int prefetchSize;
+
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    private SnowFlakeIDKeyGenerator flexKeyGenerator;
+
+    @Setup
+    public void setup() {
+        snowflakeIdGenerator = new SnowflakeIdGenerator(5, 5, 12, 0, 1, 1680411660000L, 0,
+                prefetchSize, 2000, System::currentTimeMillis);
+        flexKeyGenerator = new SnowFlakeIDKeyGenerator(1, 0);
+    }
+
+    @Benchmark
+    public long snowflakeNextId() {
+        return snowflakeIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public long flexNextId() {
+        return flexKeyGenerator.nextId();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.ping.pingaicodegeneration.manager.PasswordHashManager;
+import com.ping.pingaicodegeneration.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码加密（getEncryptPassword）基准测试
+ * <p>
+ * getEncryptPassword 经过加密线程池，doHash 为直接计算，两者之差即线程切换的开销
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+
+    @Param({"md5", "pbkdf2"})
+    private String algorithm;
+
+    private PasswordHashManager passwordHashManager;
+
+    private UserServiceImpl userService;
+
+    @Setup
+    public void setup() {
+        passwordHashManager = BenchmarkSupport.newPasswordHashManager(algorithm);
+        userService = BenchmarkSupport.newUserService(passwordHashManager);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashManager.destroy();
+    }
+
+    @Benchmark
+    public String getEncryptPassword() {
+        return userService.getEncryptPassword("benchmark-password");
+    }
+
+    @Benchmark
+    public String doHash() {
+        return passwordHashManager.doHash("benchmark-password");
+    }
+}
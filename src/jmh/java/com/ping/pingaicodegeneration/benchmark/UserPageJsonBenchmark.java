@@ -0,0 +1,63 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mybatisflex.core.paginate.Page;
+import com.ping.pingaicodegeneration.common.BaseResponse;
+import com.ping.pingaicodegeneration.common.ResultUtils;
+import com.ping.pingaicodegeneration.config.JsonConfig;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import com.ping.pingaicodegeneration.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页响应 BaseResponse&lt;Page&lt;UserVO&gt;&gt; 的 Jackson 序列化基准测试（含 Long 转字符串配置）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class UserPageJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter baseResponseWriter;
+
+    private BaseResponse<Page<UserVO>> response;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JsonConfig().jacksonObjectMapper(Jackson2ObjectMapperBuilder.json());
+        baseResponseWriter = objectMapper.writerFor(BaseResponse.class);
+        UserServiceImpl userService = BenchmarkSupport.newUserService(null);
+        Page<UserVO> page = new Page<>(1, pageSize, 1000);
+        page.setRecords(userService.getUserVOList(BenchmarkSupport.newUserList(pageSize)));
+        response = ResultUtils.success(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * 复用预先构造的 ObjectWriter（与 BaseResponseHttpMessageConverter 的写法一致）
+     */
+    @Benchmark
+    public byte[] serializeWithWriter() throws JsonProcessingException {
+        return baseResponseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.ping.pingaicodegeneration.model.dto.UserQueryRequest;
+import com.ping.pingaicodegeneration.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户查询条件（getUserQueryWrapper）构造及 SQL 生成基准测试
+ * <p>
+ * 搜索索引未就绪，文本条件走 LIKE 分支
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class UserQueryWrapperBenchmark {
+
+    private UserServiceImpl userService;
+
+    private UserQueryRequest userQueryRequest;
+
+    @Setup
+    public void setup() {
+        userService = BenchmarkSupport.newUserService(null);
+        userQueryRequest = new UserQueryRequest();
+        userQueryRequest.setUserRole("user");
+        userQueryRequest.setUserName("用户");
+        userQueryRequest.setUserAccount("account");
+        userQueryRequest.setSortField("createTime");
+        userQueryRequest.setSortOrder("descend");
+    }
+
+    @Benchmark
+    public String buildSql() {
+        return userService.getUserQueryWrapper(userQueryRequest).toSQL();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ping.pingaicodegeneration.benchmark;
+
+import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import com.ping.pingaicodegeneration.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户脱敏转换（getUserVO / getUserVOList / getLoginUserVO）基准测试
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class UserVOBenchmark {
+
+    @Param({"10", "100"})
+    private int listSize;
+
+    private UserServiceImpl userService;
+
+    private User user;
+
+    private List<User> userList;
+
+    @Setup
+    public void setup() {
+        userService = BenchmarkSupport.newUserService(null);
+        user = BenchmarkSupport.newUser(1);
+        userList = BenchmarkSupport.newUserList(listSize);
+    }
+
+    @Benchmark
+    public UserVO getUserVO() {
+        return userService.getUserVO(user);
+    }
+
+    @Benchmark
+    public LoginUserVO getLoginUserVO() {
+        return userService.getLoginUserVO(user);
+    }
+
+    @Benchmark
+    public List<UserVO> getUserVOList() {
+        return userService.getUserVOList(userList);
+    }
+}
@@ -3,9 +3,11 @@ package com.ping.pingaicodegeneration;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @MapperScan("com.ping.pingaicodegeneration.mapper")
+@EnableScheduling
 public class PingAiCodeGenerationApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,23 @@
+package com.ping.pingaicodegeneration.annotation;
+
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口负载优先级注解，未标注的接口按 NORMAL 处理
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoadPriority {
+
+    /**
+     * 优先级
+     *
+     * @return 优先级
+     */
+    LoadPriorityEnum value();
+}
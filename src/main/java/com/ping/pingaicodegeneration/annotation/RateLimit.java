@@ -0,0 +1,46 @@
+package com.ping.pingaicodegeneration.annotation;
+
+import com.ping.pingaicodegeneration.model.enums.RateLimitTypeEnum;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 限流注解（令牌桶），同一方法可以声明多个维度
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+
+    /**
+     * 限流维度
+     *
+     * @return 维度
+     */
+    RateLimitTypeEnum type();
+
+    /**
+     * 限流键的 SpEL 表达式，按方法参数名取值，如 #userLoginRequest?.userAccount（ACCOUNT 维度必填）
+     *
+     * @return 表达式
+     */
+    String key() default "";
+
+    /**
+     * 每个周期允许的请求数，同时也是桶容量（允许的突发量）
+     *
+     * @return 请求数
+     */
+    int permits();
+
+    /**
+     * 周期（秒），令牌按 permits / periodSeconds 的速率匀速补充
+     *
+     * @return 周期
+     */
+    int periodSeconds() default 60;
+}
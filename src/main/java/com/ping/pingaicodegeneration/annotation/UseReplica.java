@@ -0,0 +1,16 @@
+package com.ping.pingaicodegeneration.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 只读方法注解：方法内获取的数据库连接优先走从库（未配置从库、从库不可用或当前请求已写过主库时走主库）
+ * <p>
+ * 标注的方法内不能有写操作，也不能开启读写事务
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UseReplica {
+}
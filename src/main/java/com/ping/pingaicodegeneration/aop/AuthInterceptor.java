@@ -1,10 +1,11 @@
 package com.ping.pingaicodegeneration.aop;
 
 import com.ping.pingaicodegeneration.annotation.AuthCheck;
-import com.ping.pingaicodegeneration.exception.ThrowUtils;
-import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.exception.BusinessException;
 import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
 import com.ping.pingaicodegeneration.service.UserService;
+import com.ping.pingaicodegeneration.session.LoginPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -15,6 +16,7 @@ import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import static com.ping.pingaicodegeneration.exception.ErrorCode.NOT_LOGIN_ERROR;
 import static com.ping.pingaicodegeneration.exception.ErrorCode.NO_AUTH_ERROR;
 
 /**
@@ -27,6 +29,9 @@ public class AuthInterceptor {
     @Resource
     private UserService userService;
 
+    @Resource
+    private MeterRegistry meterRegistry;
+
     /**
      * 执行拦截
      *
@@ -39,24 +44,45 @@ public class AuthInterceptor {
     public Object doInterceptor(ProceedingJoinPoint joinPoint, AuthCheck authCheck) throws Throwable {
         // 1. 获取注解的值
         String mustRole = authCheck.mustRole();
-        // 2. 获取当前登录用户
+        // 2. 获取当前登录凭证（凭证在有效期内时直接使用其中的角色，不查询用户）
         RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
         HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
-        User loginUser = userService.getLoginUser(request);
+        LoginPrincipal loginPrincipal;
+        try {
+            loginPrincipal = userService.getLoginPrincipal(request);
+        } catch (BusinessException e) {
+            countDecision(mustRole, e.getCode() == NOT_LOGIN_ERROR.getCode() ? "not_login" : "denied");
+            throw e;
+        }
         // 统一转换为枚举对象
-        UserRoleEnum userRoleEnum = UserRoleEnum.getEnumByValue(loginUser.getUserRole());
+        UserRoleEnum userRoleEnum = loginPrincipal.role();
         UserRoleEnum mustRoleEnum = UserRoleEnum.getEnumByValue(mustRole);
         // 3. 不需要权限，直接放行
         if (mustRoleEnum == null) {
+            countDecision(mustRole, "allowed");
             return joinPoint.proceed();
         }
         // 4. 以下的代码：必须有权限才能通过
-        // 没有权限，直接拒绝
-        ThrowUtils.throwIf(userRoleEnum == null, NO_AUTH_ERROR);
-        // 要求必须有管理员权限，但当前登录用户没有
-        ThrowUtils.throwIf(UserRoleEnum.ADMIN.equals(mustRoleEnum) &&
-                                    !UserRoleEnum.ADMIN.equals(userRoleEnum), NO_AUTH_ERROR);
+        // 没有权限，直接拒绝；要求必须有管理员权限，但当前登录用户没有
+        if (userRoleEnum == null
+                || (UserRoleEnum.ADMIN.equals(mustRoleEnum) && !UserRoleEnum.ADMIN.equals(userRoleEnum))) {
+            countDecision(mustRole, "denied");
+            throw new BusinessException(NO_AUTH_ERROR);
+        }
         // 5. 权限校验通过，放行
+        countDecision(mustRole, "allowed");
         return joinPoint.proceed();
     }
+
+    /**
+     * 统计权限校验结果
+     *
+     * @param mustRole 要求的角色
+     * @param result   allowed / denied / not_login
+     */
+    private void countDecision(String mustRole, String result) {
+        meterRegistry.counter("ping.auth.decisions",
+                "role", mustRole.isEmpty() ? "none" : mustRole,
+                "result", result).increment();
+    }
 }
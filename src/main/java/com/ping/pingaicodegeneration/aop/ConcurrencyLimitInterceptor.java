@@ -0,0 +1,92 @@
+package com.ping.pingaicodegeneration.aop;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ping.pingaicodegeneration.annotation.LoadPriority;
+import com.ping.pingaicodegeneration.common.ResultUtils;
+import com.ping.pingaicodegeneration.config.ConcurrencyLimitProperties;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.manager.AdaptiveConcurrencyLimiter;
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 并发限制拦截器
+ * <p>
+ * 在解析请求体、读取会话之前获取并发许可，超出上限的请求立即返回“系统繁忙”，不在 Tomcat 和连接池上排队；
+ * 拒绝响应不经过全局异常处理器，避免过载时为每个被拒请求打印异常栈
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_NANOS_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".startNanos";
+
+    /**
+     * 接口方法对应的优先级缓存
+     */
+    private final Map<Method, LoadPriorityEnum> priorityCache = new ConcurrentHashMap<>();
+
+    @Resource
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Resource
+    private ConcurrencyLimitProperties concurrencyLimitProperties;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 预先序列化的繁忙响应
+     */
+    private byte[] busyResponseBody;
+
+    @PostConstruct
+    public void init() throws JsonProcessingException {
+        busyResponseBody = objectMapper.writeValueAsBytes(ResultUtils.error(ErrorCode.SERVICE_BUSY));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!concurrencyLimitProperties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (!adaptiveConcurrencyLimiter.tryAcquire(getPriority(handlerMethod))) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentLength(busyResponseBody.length);
+            response.getOutputStream().write(busyResponseBody);
+            return false;
+        }
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos
+                && handler instanceof HandlerMethod handlerMethod) {
+            request.removeAttribute(START_NANOS_ATTRIBUTE);
+            adaptiveConcurrencyLimiter.release(getPriority(handlerMethod), System.nanoTime() - startNanos);
+        }
+    }
+
+    private LoadPriorityEnum getPriority(HandlerMethod handlerMethod) {
+        return priorityCache.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            LoadPriority loadPriority = handlerMethod.getMethodAnnotation(LoadPriority.class);
+            return loadPriority == null ? LoadPriorityEnum.NORMAL : loadPriority.value();
+        });
+    }
+}
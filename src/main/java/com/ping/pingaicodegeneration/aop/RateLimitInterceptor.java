@@ -0,0 +1,109 @@
+package com.ping.pingaicodegeneration.aop;
+
+import cn.hutool.core.util.StrUtil;
+import com.ping.pingaicodegeneration.annotation.RateLimit;
+import com.ping.pingaicodegeneration.config.RateLimitProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.manager.RateLimitManager;
+import com.ping.pingaicodegeneration.model.enums.RateLimitTypeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 限流拦截器
+ * <p>
+ * 在进入接口方法前按注解声明的维度逐个取令牌，任一维度取不到即拒绝，不会执行密码加密和数据库查询
+ */
+@Component
+@Aspect
+@Order(0)
+public class RateLimitInterceptor {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 解析后的 SpEL 表达式缓存
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    @Resource
+    private RateLimitManager rateLimitManager;
+
+    @Resource
+    private RateLimitProperties rateLimitProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 执行拦截
+     *
+     * @param joinPoint 切入点
+     * @return 目标方法的执行结果
+     * @throws Throwable 异常
+     */
+    @Around("@annotation(com.ping.pingaicodegeneration.annotation.RateLimit) "
+            + "|| @annotation(com.ping.pingaicodegeneration.annotation.RateLimits)")
+    public Object doInterceptor(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!rateLimitProperties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Set<RateLimit> rateLimits = AnnotatedElementUtils.findMergedRepeatableAnnotations(method, RateLimit.class);
+        String methodName = method.getName();
+        for (RateLimit rateLimit : rateLimits) {
+            String keyValue = resolveKey(rateLimit, method, joinPoint);
+            // 取不到限流键（如账号为空）时跳过该维度，交给参数校验处理
+            if (StrUtil.isBlank(keyValue)) {
+                continue;
+            }
+            String key = methodName + ":" + rateLimit.type().getValue() + ":" + keyValue;
+            if (!rateLimitManager.tryAcquire(key, rateLimit.permits(), rateLimit.periodSeconds())) {
+                meterRegistry.counter("ping.rate.limit.rejected",
+                        "method", methodName, "type", rateLimit.type().getValue()).increment();
+                throw new BusinessException(ErrorCode.TOO_MANY_REQUEST);
+            }
+        }
+        return joinPoint.proceed();
+    }
+
+    /**
+     * 解析限流键
+     */
+    private String resolveKey(RateLimit rateLimit, Method method, ProceedingJoinPoint joinPoint) {
+        if (rateLimit.type() == RateLimitTypeEnum.IP) {
+            HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                    .getRequest();
+            return request.getRemoteAddr();
+        }
+        Expression expression = expressionCache.computeIfAbsent(rateLimit.key(), PARSER::parseExpression);
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                null, method, joinPoint.getArgs(), PARAMETER_NAME_DISCOVERER);
+        Object value = expression.getValue(context);
+        // 账号不区分大小写，避免换大小写绕过限流
+        return value == null ? null : value.toString().trim().toLowerCase();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ping.pingaicodegeneration.aop;
+
+import com.ping.pingaicodegeneration.datasource.DataSourceRouteContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * 写后读拦截器
+ * <p>
+ * 拦截 MyBatis 的增删改，记录当前请求已写过主库，之后的只读查询也走主库，避免读到从库的复制延迟数据
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class ReadYourWritesInterceptor implements Interceptor {
+
+    private final long sessionPinMillis;
+
+    public ReadYourWritesInterceptor(long sessionPinMillis) {
+        this.sessionPinMillis = sessionPinMillis;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        DataSourceRouteContext.markWritten(sessionPinMillis);
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ping.pingaicodegeneration.aop;
+
+import com.ping.pingaicodegeneration.datasource.DataSourceRouteContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 只读路由拦截器
+ * <p>
+ * 标注 {@link com.ping.pingaicodegeneration.annotation.UseReplica} 的方法执行期间进入只读范围；
+ * 排在事务切面之前，只读事务开启时取到的连接也会走从库
+ */
+@Component
+@Aspect
+@Order(1)
+public class ReplicaRouteInterceptor {
+
+    @Around("@annotation(com.ping.pingaicodegeneration.annotation.UseReplica) "
+            + "|| @within(com.ping.pingaicodegeneration.annotation.UseReplica)")
+    public Object doInterceptor(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRouteContext.enterReplica();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.exitReplica();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ping.pingaicodegeneration.aop;
+
+import com.ping.pingaicodegeneration.config.SqlMonitorProperties;
+import com.ping.pingaicodegeneration.manager.SqlStatsManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 执行统计拦截器
+ * <p>
+ * 拦截 MyBatis 语句执行，按 SQL 指纹记录耗时与行数；抛出异常（超时、锁等待、死锁等）的执行同样计入耗时并记为失败；
+ * 超过阈值的查询输出慢查询日志，成功的查询附带执行计划
+ */
+@Component
+@Slf4j
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlStatsInterceptor implements Interceptor {
+
+    private final SqlStatsManager sqlStatsManager;
+
+    private final SqlMonitorProperties sqlMonitorProperties;
+
+    public SqlStatsInterceptor(SqlStatsManager sqlStatsManager, SqlMonitorProperties sqlMonitorProperties) {
+        this.sqlStatsManager = sqlStatsManager;
+        this.sqlMonitorProperties = sqlMonitorProperties;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!sqlMonitorProperties.isEnabled()) {
+            return invocation.proceed();
+        }
+        long startTime = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            try {
+                record(invocation, System.nanoTime() - startTime, result, failed);
+            } catch (RuntimeException e) {
+                // 统计失败不能覆盖语句本身的结果或异常
+                log.debug("记录 SQL 统计失败：{}", e.getMessage());
+            }
+        }
+    }
+
+    private void record(Invocation invocation, long nanos, Object result, boolean failed) {
+        StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+        String sql = statementHandler.getBoundSql().getSql();
+        String fingerprint = sqlStatsManager.fingerprint(sql);
+        long rows = result instanceof Collection<?> collection ? collection.size()
+                : result instanceof Integer count ? count : -1;
+        sqlStatsManager.record(fingerprint, nanos, rows, failed);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= sqlMonitorProperties.getSlowThresholdMillis()) {
+            if (failed) {
+                // 执行失败后连接状态不确定，不再执行 EXPLAIN
+                log.warn("慢查询 {}ms，执行失败，指纹：{}", millis, fingerprint);
+                return;
+            }
+            // 游标查询的结果集还在读取中，同一连接上不能再执行 EXPLAIN
+            boolean cursor = "queryCursor".equals(invocation.getMethod().getName());
+            String explain = !cursor && sqlMonitorProperties.isExplainEnabled()
+                    && isSelect(sql) && sqlStatsManager.tryAcquireExplain(fingerprint)
+                    ? explain((Statement) invocation.getArgs()[0], statementHandler, sql) : null;
+            log.warn("慢查询 {}ms，行数：{}，指纹：{}{}", millis, rows, fingerprint,
+                    explain == null ? "" : "，执行计划：" + explain);
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    /**
+     * 在同一连接上以相同参数执行 EXPLAIN
+     */
+    private String explain(Statement statement, StatementHandler statementHandler, String sql) {
+        try {
+            Connection connection = statement.getConnection();
+            try (PreparedStatement explainStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+                statementHandler.getParameterHandler().setParameters(explainStatement);
+                try (ResultSet resultSet = explainStatement.executeQuery()) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    List<Map<String, Object>> plan = new ArrayList<>();
+                    while (resultSet.next()) {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                            row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+                        }
+                        plan.add(row);
+                    }
+                    return plan.toString();
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("获取执行计划失败：{}", e.getMessage());
+            return null;
+        }
+    }
+}
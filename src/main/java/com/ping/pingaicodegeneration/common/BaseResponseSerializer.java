@@ -0,0 +1,62 @@
+package com.ping.pingaicodegeneration.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 全局响应封装类的序列化器
+ * <p>
+ * 输出与默认的 Bean 序列化逐字节一致（字段顺序 data、code、message，null 照常输出），
+ * 字段名及成功响应的 code、message 使用预编码的片段，省去逐个属性的反射访问和编码
+ */
+@SuppressWarnings("rawtypes")
+public class BaseResponseSerializer extends StdSerializer<BaseResponse> {
+
+    public static final BaseResponseSerializer INSTANCE = new BaseResponseSerializer();
+
+    private static final SerializedString DATA_FIELD = new SerializedString("data");
+
+    private static final SerializedString CODE_FIELD = new SerializedString("code");
+
+    private static final SerializedString MESSAGE_FIELD = new SerializedString("message");
+
+    private static final int SUCCESS_CODE = 200;
+
+    private static final SerializedString SUCCESS_CODE_VALUE = new SerializedString(String.valueOf(SUCCESS_CODE));
+
+    private static final String SUCCESS_MESSAGE = "success";
+
+    private static final SerializedString SUCCESS_MESSAGE_VALUE = new SerializedString(SUCCESS_MESSAGE);
+
+    private BaseResponseSerializer() {
+        super(BaseResponse.class);
+    }
+
+    @Override
+    public void serialize(BaseResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(DATA_FIELD);
+        // data 的实际类型各不相同，交给 provider 按运行时类型查找（已缓存）序列化器
+        provider.defaultSerializeValue(value.getData(), gen);
+        gen.writeFieldName(CODE_FIELD);
+        if (value.getCode() == SUCCESS_CODE) {
+            gen.writeRawValue(SUCCESS_CODE_VALUE);
+        } else {
+            gen.writeNumber(value.getCode());
+        }
+        gen.writeFieldName(MESSAGE_FIELD);
+        String message = value.getMessage();
+        if (message == null) {
+            provider.defaultSerializeNull(gen);
+        } else if (SUCCESS_MESSAGE.equals(message)) {
+            gen.writeString(SUCCESS_MESSAGE_VALUE);
+        } else {
+            gen.writeString(message);
+        }
+        gen.writeEndObject();
+    }
+}
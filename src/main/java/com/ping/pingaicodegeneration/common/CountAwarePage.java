@@ -0,0 +1,32 @@
+package com.ping.pingaicodegeneration.common;
+
+import com.mybatisflex.core.paginate.Page;
+
+/**
+ * 标注总数来源的分页结果
+ * <p>
+ * totalRowExact 为 false 时，totalRow 是基于表统计信息的估算值，或本节点缓存的计数
+ * （可能未包含其他节点在缓存有效期内的写入）
+ *
+ * @param <T>
+ */
+public class CountAwarePage<T> extends Page<T> {
+
+    /**
+     * 总数是否精确
+     */
+    private boolean totalRowExact = true;
+
+    public CountAwarePage(Number pageNumber, Number pageSize, Number totalRow, boolean totalRowExact) {
+        super(pageNumber, pageSize, totalRow);
+        this.totalRowExact = totalRowExact;
+    }
+
+    public boolean isTotalRowExact() {
+        return totalRowExact;
+    }
+
+    public void setTotalRowExact(boolean totalRowExact) {
+        this.totalRowExact = totalRowExact;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ping.pingaicodegeneration.common;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 通用的游标分页结果
+ *
+ * @param <T>
+ */
+@Data
+public class CursorPage<T> implements Serializable {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 页面大小
+     */
+    private long pageSize;
+
+    /**
+     * 下一页游标（没有下一页时为空）
+     */
+    private String nextCursor;
+
+    /**
+     * 上一页游标（没有上一页时为空）
+     */
+    private String prevCursor;
+
+    /**
+     * 是否有下一页
+     */
+    private boolean hasNext;
+
+    /**
+     * 是否有上一页
+     */
+    private boolean hasPrev;
+
+    /**
+     * 总条数（未查询总数时为空）
+     */
+    private Long totalRow;
+
+    /**
+     * 总数是否精确（为 false 时 totalRow 是估算值或缓存的计数）
+     */
+    private Boolean totalRowExact;
+
+    private static final long serialVersionUID = 1L;
+}
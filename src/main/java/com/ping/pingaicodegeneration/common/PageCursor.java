@@ -0,0 +1,77 @@
+package com.ping.pingaicodegeneration.common;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.json.JSONUtil;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 游标分页的游标内容
+ * <p>
+ * 记录翻页时的排序字段、排序方向以及边界记录的 (排序值, id)，对外编码为不透明字符串
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+
+    /**
+     * 排序字段
+     */
+    private String sortField;
+
+    /**
+     * 排序顺序
+     */
+    private String sortOrder;
+
+    /**
+     * 边界记录的排序字段值
+     */
+    private String sortValue;
+
+    /**
+     * 边界记录的 id
+     */
+    private Long lastId;
+
+    /**
+     * 是否向前翻页（上一页）
+     */
+    private boolean backward;
+
+    /**
+     * 编码为不透明游标
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        return Base64.encodeUrlSafe(JSONUtil.toJsonStr(this));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标字符串
+     * @return 游标内容，cursor 为空时返回 null
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            PageCursor pageCursor = JSONUtil.toBean(Base64.decodeStr(cursor), PageCursor.class);
+            if (pageCursor.getSortField() == null || pageCursor.getLastId() == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+            }
+            return pageCursor;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+}
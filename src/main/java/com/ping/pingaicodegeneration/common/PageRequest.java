@@ -27,4 +27,19 @@ public class PageRequest {
      * 排序顺序（默认升序）
      */
     private String sortOrder = "descend";
+
+    /**
+     * 游标（游标分页时使用，为空表示第一页）
+     */
+    private String cursor;
+
+    /**
+     * 是否查询总条数（默认查询）
+     */
+    private boolean searchCount = true;
+
+    /**
+     * 无过滤条件时是否允许使用表统计信息估算总数（默认精确计数）
+     */
+    private boolean approximateCount = false;
 }
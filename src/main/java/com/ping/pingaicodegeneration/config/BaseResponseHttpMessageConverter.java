@@ -0,0 +1,55 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ping.pingaicodegeneration.common.BaseResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Json 消息转换器
+ * <p>
+ * 全局响应封装类直接使用预先构造好的 ObjectWriter 输出，不再每次请求重新创建 writer、查找根序列化器；
+ * 其他类型及非 UTF-8 编码仍走默认逻辑
+ */
+public class BaseResponseHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObjectWriter baseResponseWriter;
+
+    public BaseResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.baseResponseWriter = objectMapper.writerFor(BaseResponse.class);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof BaseResponse<?>) || !isUtf8(outputMessage.getHeaders().getContentType())) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        try {
+            baseResponseWriter.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private static boolean isUtf8(MediaType contentType) {
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null || StandardCharsets.UTF_8.equals(charset);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.ping.pingaicodegeneration.aop.ConcurrencyLimitInterceptor;
+import jakarta.annotation.Resource;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 自适应并发限制配置（作用于用户接口）
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Resource
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 跨域拦截器总是排在最前，被拒绝的响应也会带上跨域头
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/user/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
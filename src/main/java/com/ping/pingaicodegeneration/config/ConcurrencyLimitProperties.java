@@ -0,0 +1,59 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自适应并发限制配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 20;
+
+    /**
+     * 并发上限的下界
+     */
+    private int minLimit = 4;
+
+    /**
+     * 并发上限的上界，应不超过 Tomcat 最大线程数
+     */
+    private int maxLimit = 200;
+
+    /**
+     * 采样窗口（毫秒），每个窗口结束时根据窗口内的平均耗时调整一次上限
+     */
+    private long windowMillis = 500;
+
+    /**
+     * 窗口内至少需要的样本数，样本不足时延长窗口
+     */
+    private int minWindowSamples = 10;
+
+    /**
+     * 重新探测无排队耗时的间隔（秒），避免数据量增长后基线一直停留在历史最小值
+     */
+    private long probeIntervalSeconds = 60;
+
+    /**
+     * NORMAL 优先级可用的并发上限比例（百分比）
+     */
+    private int normalLimitPercent = 80;
+
+    /**
+     * LOW 优先级可用的并发上限比例（百分比）
+     */
+    private int lowLimitPercent = 50;
+}
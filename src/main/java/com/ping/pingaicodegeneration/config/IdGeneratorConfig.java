@@ -0,0 +1,60 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.mybatisflex.core.keygen.KeyGeneratorFactory;
+import com.mybatisflex.spring.boot.MyBatisFlexCustomizer;
+import com.ping.pingaicodegeneration.constant.UserConstant;
+import com.ping.pingaicodegeneration.manager.SnowflakeIdGenerator;
+import com.ping.pingaicodegeneration.manager.UserIdGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * 主键生成器配置
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * 注册用户 id 生成器（在 Mapper 解析实体之前执行）
+     */
+    @Bean
+    public MyBatisFlexCustomizer userIdGeneratorCustomizer(UserIdGenerator userIdGenerator) {
+        return globalConfig -> KeyGeneratorFactory.register(UserConstant.USER_ID_KEY_GENERATOR, userIdGenerator);
+    }
+
+    /**
+     * 用户 id 生成器指标
+     */
+    @Bean
+    public MeterBinder userIdGeneratorMetrics(UserIdGenerator userIdGenerator) {
+        return registry -> {
+            bindCounter(registry, userIdGenerator, "ping.id.generated", "已分配的用户 id 数",
+                    SnowflakeIdGenerator::getGeneratedCount);
+            bindCounter(registry, userIdGenerator, "ping.id.cas.retry", "发号 CAS 重试次数",
+                    SnowflakeIdGenerator::getCasRetryCount);
+            bindCounter(registry, userIdGenerator, "ping.id.borrow", "序列号用完借用下一毫秒的次数",
+                    SnowflakeIdGenerator::getBorrowCount);
+            bindCounter(registry, userIdGenerator, "ping.id.clock.wait", "因时钟回拨等待的次数",
+                    SnowflakeIdGenerator::getWaitCount);
+            Gauge.builder("ping.id.worker", userIdGenerator, generator -> generator.getGenerator() == null
+                            ? -1 : generator.getGenerator().getWorkerId())
+                    .description("当前使用的雪花 id 工作节点")
+                    .register(registry);
+        };
+    }
+
+    private static void bindCounter(MeterRegistry registry,
+                                    UserIdGenerator userIdGenerator, String name, String description,
+                                    ToLongFunction<SnowflakeIdGenerator> getter) {
+        FunctionCounter.builder(name, userIdGenerator, generator -> generator.getGenerator() == null
+                        ? 0 : getter.applyAsLong(generator.getGenerator()))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 雪花 id 生成器配置
+ * <p>
+ * 默认的起始时间和位数与 MyBatis-Flex 自带的雪花算法一致，已有数据的 id 与新 id 连续递增；
+ * 表中已有数据时修改起始时间或位数，需保证新 id 仍大于已有 id
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.id-generator")
+@Data
+public class IdGeneratorProperties {
+
+    /**
+     * 起始时间（毫秒）
+     */
+    private long epochMillis = 1680411660000L;
+
+    /**
+     * 数据中心 id 位数
+     */
+    private int datacenterBits = 5;
+
+    /**
+     * 工作节点 id 位数
+     */
+    private int workerBits = 5;
+
+    /**
+     * 序列号位数（每毫秒每节点可发 2^sequenceBits 个 id）
+     */
+    private int sequenceBits = 12;
+
+    /**
+     * 数据中心 id
+     */
+    private long datacenterId = 0;
+
+    /**
+     * 工作节点 id，小于 0 时启动后通过 id_worker 表自动分配，分配成功前拒绝发号
+     */
+    private long workerId = -1;
+
+    /**
+     * 每个线程一次预占的 id 数，小于等于 1 时不预占
+     */
+    private int prefetchSize = 16;
+
+    /**
+     * 时钟回拨容忍度（毫秒）：逻辑时间最多领先系统时间的毫秒数，超出后等待，等待超过该时长则报错
+     */
+    private long maxAheadMillis = 2000;
+
+    /**
+     * 自动分配的工作节点租约时长（秒），超过该时长未续约的节点可被其他实例接管
+     */
+    private long leaseSeconds = 60;
+
+    /**
+     * 租约续约间隔（秒），同时持久化已发出的最大时间戳
+     */
+    private long heartbeatIntervalSeconds = 10;
+
+    /**
+     * 租约安全余量（秒）：距上次续约成功超过 leaseSeconds 减去该值后，发号前必须先续约成功
+     */
+    private long leaseSafetySeconds = 10;
+}
@@ -3,9 +3,13 @@ package com.ping.pingaicodegeneration.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ping.pingaicodegeneration.common.BaseResponse;
+import com.ping.pingaicodegeneration.common.BaseResponseSerializer;
 import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 /**
  * Spring MVC Json 配置
@@ -22,7 +26,19 @@ public class JsonConfig {
         SimpleModule module = new SimpleModule();
         module.addSerializer(Long.class, ToStringSerializer.instance);
         module.addSerializer(Long.TYPE, ToStringSerializer.instance);
+        // 全局响应封装类使用预编码字段的序列化器
+        module.addSerializer(BaseResponse.class, BaseResponseSerializer.INSTANCE);
         objectMapper.registerModule(module);
+        // 用字节码生成的访问器代替反射读取 Bean 属性
+        objectMapper.registerModule(new BlackbirdModule());
         return objectMapper;
     }
-}
\ No newline at end of file
+
+    /**
+     * 全局响应封装类复用同一个 ObjectWriter 输出
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper jacksonObjectMapper) {
+        return new BaseResponseHttpMessageConverter(jacksonObjectMapper);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录审计配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.login-audit")
+@Data
+public class LoginAuditProperties {
+
+    /**
+     * 是否记录登录审计
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓冲区容量（向上取整为 2 的幂），满后新的登录事件被丢弃并计数
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * 单次批量写入的最大条数，缓冲区积累到该数量时立即写入
+     */
+    private int batchSize = 200;
+
+    /**
+     * 最长写入间隔（毫秒），不足一批时到期也写入
+     */
+    private long flushIntervalMillis = 1000;
+
+    /**
+     * 关闭时等待剩余事件写入的最长时间（毫秒）
+     */
+    private long shutdownTimeoutMillis = 5000;
+
+    /**
+     * 查询最近登录记录时单次最多返回的条数
+     */
+    private int maxQueryLimit = 100;
+}
@@ -0,0 +1,188 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ping.pingaicodegeneration.manager.AdaptiveConcurrencyLimiter;
+import com.ping.pingaicodegeneration.manager.LoginAuditManager;
+import com.ping.pingaicodegeneration.manager.PasswordHashManager;
+import com.ping.pingaicodegeneration.manager.UserAccountBloomFilter;
+import com.ping.pingaicodegeneration.manager.UserArchiveManager;
+import com.ping.pingaicodegeneration.manager.UserCacheManager;
+import com.ping.pingaicodegeneration.manager.UserCountCacheManager;
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 监控指标配置
+ * <p>
+ * 接口耗时由 Spring Boot 自动记录（http.server.requests），HikariCP 连接池指标由 Spring Boot 自动绑定；
+ * 这里补充服务层耗时切面，以及本地缓存、密码加密、账号布隆过滤器、并发限制、用户归档、登录审计的指标
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 支持 @Timed 注解记录方法耗时
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * 本地缓存指标（命名与 Micrometer 自带的缓存指标一致）
+     */
+    @Bean
+    public MeterBinder userCacheMetrics(UserCacheManager userCacheManager,
+                                        UserCountCacheManager userCountCacheManager) {
+        return registry -> {
+            bindCache(registry, "user", userCacheManager::size, userCacheManager::stats);
+            bindCache(registry, "user-count", userCountCacheManager::size, userCountCacheManager::stats);
+        };
+    }
+
+    /**
+     * 密码加密线程池指标
+     */
+    @Bean
+    public MeterBinder passwordHashMetrics(PasswordHashManager passwordHashManager) {
+        return registry -> {
+            FunctionTimer.builder("ping.password.hash", passwordHashManager,
+                            PasswordHashManager::getHashCount, PasswordHashManager::getHashNanos, TimeUnit.NANOSECONDS)
+                    .description("密码加密计算耗时")
+                    .register(registry);
+            FunctionTimer.builder("ping.password.hash.queue.wait", passwordHashManager,
+                            PasswordHashManager::getHashCount, PasswordHashManager::getQueueWaitNanos, TimeUnit.NANOSECONDS)
+                    .description("密码加密排队耗时")
+                    .register(registry);
+            FunctionCounter.builder("ping.password.hash.rejected", passwordHashManager,
+                            PasswordHashManager::getRejectedCount)
+                    .description("队列满或超时被拒绝的加密请求数")
+                    .register(registry);
+            Gauge.builder("ping.password.hash.queue.size", passwordHashManager, PasswordHashManager::getQueueSize)
+                    .description("排队中的加密任务数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 注册账号查重布隆过滤器指标
+     */
+    @Bean
+    public MeterBinder userAccountBloomMetrics(UserAccountBloomFilter userAccountBloomFilter) {
+        return registry -> {
+            FunctionCounter.builder("ping.user.account.bloom", userAccountBloomFilter,
+                            UserAccountBloomFilter::getDefinitelyNewCount)
+                    .tag("result", "definitely_new")
+                    .description("注册查重判定结果")
+                    .register(registry);
+            FunctionCounter.builder("ping.user.account.bloom", userAccountBloomFilter,
+                            UserAccountBloomFilter::getMaybeExistsCount)
+                    .tag("result", "maybe_exists")
+                    .description("注册查重判定结果")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 自适应并发限制指标
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("ping.concurrency.limit", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("当前并发上限")
+                    .register(registry);
+            Gauge.builder("ping.concurrency.in.flight", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("当前处理中的请求数")
+                    .register(registry);
+            Gauge.builder("ping.concurrency.no.load.rtt", adaptiveConcurrencyLimiter,
+                            limiter -> limiter.getNoLoadRttNanos() / 1e9)
+                    .baseUnit("seconds")
+                    .description("无排队时的请求耗时基线")
+                    .register(registry);
+            for (LoadPriorityEnum priority : LoadPriorityEnum.values()) {
+                FunctionCounter.builder("ping.concurrency.rejected", adaptiveConcurrencyLimiter,
+                                limiter -> limiter.getRejectedCount(priority))
+                        .tag("priority", priority.getValue())
+                        .description("超出并发上限被拒绝的请求数")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * 已删除用户归档指标
+     */
+    @Bean
+    public MeterBinder userArchiveMetrics(UserArchiveManager userArchiveManager) {
+        return registry -> {
+            FunctionCounter.builder("ping.user.archive.archived", userArchiveManager,
+                            UserArchiveManager::getArchivedCount)
+                    .description("移入归档表的用户数")
+                    .register(registry);
+            FunctionCounter.builder("ping.user.archive.restored", userArchiveManager,
+                            UserArchiveManager::getRestoredCount)
+                    .description("从归档表恢复的用户数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 登录审计指标
+     */
+    @Bean
+    public MeterBinder loginAuditMetrics(LoginAuditManager loginAuditManager) {
+        return registry -> {
+            FunctionCounter.builder("ping.login.audit.recorded", loginAuditManager, LoginAuditManager::getRecordedCount)
+                    .description("进入缓冲区的登录事件数")
+                    .register(registry);
+            FunctionCounter.builder("ping.login.audit.dropped", loginAuditManager, LoginAuditManager::getDroppedCount)
+                    .tag("reason", "buffer_full")
+                    .description("被丢弃的登录事件数")
+                    .register(registry);
+            FunctionCounter.builder("ping.login.audit.dropped", loginAuditManager, LoginAuditManager::getFailedCount)
+                    .tag("reason", "write_failed")
+                    .description("被丢弃的登录事件数")
+                    .register(registry);
+            FunctionCounter.builder("ping.login.audit.flushed", loginAuditManager, LoginAuditManager::getFlushedCount)
+                    .description("已写入数据库的登录事件数")
+                    .register(registry);
+            FunctionCounter.builder("ping.login.audit.batches", loginAuditManager, LoginAuditManager::getBatchCount)
+                    .description("批量写入次数")
+                    .register(registry);
+            Gauge.builder("ping.login.audit.buffer.size", loginAuditManager, LoginAuditManager::getBufferSize)
+                    .description("等待写入的登录事件数")
+                    .register(registry);
+        };
+    }
+
+    private static void bindCache(MeterRegistry registry, String cacheName,
+                                  Supplier<Number> size, Supplier<CacheStats> stats) {
+        Gauge.builder("cache.size", size)
+                .tag("cache", cacheName)
+                .description("缓存条数（近似值）")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().hitCount())
+                .tags("cache", cacheName, "result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().missCount())
+                .tags("cache", cacheName, "result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", stats, s -> s.get().evictionCount())
+                .tag("cache", cacheName)
+                .description("缓存淘汰次数")
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 密码加密配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.password")
+@Data
+public class PasswordHashProperties {
+
+    /**
+     * 新密码的加密算法：md5（固定盐 MD5，默认，兼容旧数据）/ pbkdf2（PBKDF2WithHmacSHA256，每个密码随机盐）
+     * <p>
+     * 校验时按存储值自身的格式判断，切换算法后已有用户的密码仍可校验；配置为 pbkdf2 时，旧格式的密码在下次登录成功后重新加密写回
+     */
+    private String algorithm = "md5";
+
+    /**
+     * PBKDF2 迭代次数
+     */
+    private int pbkdf2Iterations = 310000;
+
+    /**
+     * PBKDF2 输出长度（位）
+     */
+    private int pbkdf2KeyLength = 256;
+
+    /**
+     * 加密线程数，小于等于 0 时使用 CPU 核数
+     */
+    private int threads = 0;
+
+    /**
+     * 等待队列长度，队列满时立即拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 单次加密的最长等待时间（毫秒，包含排队时间）
+     */
+    private long timeoutMillis = 3000;
+}
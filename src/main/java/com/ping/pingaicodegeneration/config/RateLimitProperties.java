@@ -0,0 +1,29 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 接口限流配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多保留的令牌桶数，超出后按访问频率淘汰
+     */
+    private long maximumKeys = 100000;
+
+    /**
+     * 令牌桶闲置多久（秒）后回收，应不小于最长的限流周期（回收后重建的桶是满的）
+     */
+    private long idleExpireSeconds = 600;
+}
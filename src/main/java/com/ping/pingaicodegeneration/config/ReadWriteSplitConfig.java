@@ -0,0 +1,113 @@
+package com.ping.pingaicodegeneration.config;
+
+import cn.hutool.core.util.StrUtil;
+import com.ping.pingaicodegeneration.aop.ReadYourWritesInterceptor;
+import com.ping.pingaicodegeneration.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 读写分离配置（配置了 ping.datasource.replicas 时生效）
+ * <p>
+ * 主库连接池沿用 spring.datasource 与 spring.datasource.hikari 配置，注册为 primaryDataSource；
+ * 对外暴露的 dataSource 是路由数据源，标注 {@link com.ping.pingaicodegeneration.annotation.UseReplica} 的只读方法走从库
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ping.datasource", name = "replicas[0].url")
+@Slf4j
+public class ReadWriteSplitConfig {
+
+    /**
+     * 主库连接池
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * 读写分离路由数据源
+     */
+    @Bean
+    @Primary
+    public ReadWriteRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                 DataSourceProperties dataSourceProperties,
+                                                 ReadWriteSplitProperties readWriteSplitProperties,
+                                                 ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadWriteSplitProperties.Replica> replicaList = readWriteSplitProperties.getReplicas();
+        for (int i = 0; i < replicaList.size(); i++) {
+            ReadWriteSplitProperties.Replica replica = replicaList.get(i);
+            String name = StrUtil.blankToDefault(replica.getName(), "replica-" + i);
+            // 连接池在第一次取连接时才启动，从库启动时不可用不影响应用启动
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            replicaDataSource.setPoolName(name);
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            replicaDataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replicaDataSource.setUsername(StrUtil.blankToDefault(replica.getUsername(), dataSourceProperties.determineUsername()));
+            replicaDataSource.setPassword(StrUtil.blankToDefault(replica.getPassword(), dataSourceProperties.determinePassword()));
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicaDataSource.setConnectionTimeout(replica.getConnectionTimeoutMillis());
+            replicaDataSource.setReadOnly(true);
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            if (meterRegistry != null) {
+                replicaDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            replicas.put(name, replicaDataSource);
+        }
+        log.info("读写分离：主库 {}，从库 {}", dataSourceProperties.determineUrl(), replicas.keySet());
+        return new ReadWriteRoutingDataSource(primaryDataSource, dataSourceProperties.determineUrl(), replicas,
+                readWriteSplitProperties.getHealthCheckIntervalSeconds(),
+                readWriteSplitProperties.getHealthCheckTimeoutSeconds());
+    }
+
+    /**
+     * 记录写操作，实现写后读主库
+     */
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(ReadWriteSplitProperties readWriteSplitProperties) {
+        return new ReadYourWritesInterceptor(readWriteSplitProperties.getSessionPinMillis());
+    }
+
+    /**
+     * 读写分离指标
+     */
+    @Bean
+    public MeterBinder readWriteSplitMetrics(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return registry -> {
+            readWriteRoutingDataSource.getReplicaHealth().keySet().forEach(name ->
+                    Gauge.builder("ping.datasource.replica.healthy", readWriteRoutingDataSource,
+                                    dataSource -> Boolean.TRUE.equals(dataSource.getReplicaHealth().get(name)) ? 1 : 0)
+                            .tag("replica", name)
+                            .description("从库是否可用")
+                            .register(registry));
+            FunctionCounter.builder("ping.datasource.replica.routed", readWriteRoutingDataSource,
+                            ReadWriteRoutingDataSource::getReplicaRouteCount)
+                    .description("路由到从库的连接数")
+                    .register(registry);
+            FunctionCounter.builder("ping.datasource.replica.fallback", readWriteRoutingDataSource,
+                            ReadWriteRoutingDataSource::getFallbackCount)
+                    .description("从库不可用改走主库的次数")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置（主库沿用 spring.datasource）
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.datasource")
+@Data
+public class ReadWriteSplitProperties {
+
+    /**
+     * 从库列表，为空时不做读写分离
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 从库探活间隔（秒）
+     */
+    private long healthCheckIntervalSeconds = 5;
+
+    /**
+     * 从库探活超时（秒）
+     */
+    private int healthCheckTimeoutSeconds = 2;
+
+    /**
+     * 写主库后，同一会话的后续请求继续读主库的时长（毫秒），用于覆盖主从复制延迟；0 表示只在当前请求内读主库
+     */
+    private long sessionPinMillis = 2000;
+
+    /**
+     * 从库连接配置
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * 名称，用于日志和监控，为空时按顺序命名为 replica-0、replica-1 ...
+         */
+        private String name;
+
+        private String url;
+
+        /**
+         * 用户名，为空时沿用主库
+         */
+        private String username;
+
+        /**
+         * 密码，为空时沿用主库
+         */
+        private String password;
+
+        /**
+         * 连接池最大连接数
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * 获取连接超时（毫秒），超时即判定从库不可用并改走主库，不宜过长
+         */
+        private long connectionTimeoutMillis = 1000;
+    }
+}
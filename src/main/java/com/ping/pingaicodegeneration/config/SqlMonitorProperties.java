@@ -0,0 +1,39 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 执行统计配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.sql-monitor")
+@Data
+public class SqlMonitorProperties {
+
+    /**
+     * 是否开启
+     */
+    private boolean enabled = true;
+
+    /**
+     * 慢查询阈值（毫秒），超过时输出日志
+     */
+    private long slowThresholdMillis = 200;
+
+    /**
+     * 慢查询日志是否附带执行计划（仅 SELECT）
+     */
+    private boolean explainEnabled = true;
+
+    /**
+     * 同一类 SQL 输出执行计划的最小间隔（秒），避免慢查询集中出现时反复执行 EXPLAIN
+     */
+    private long explainIntervalSeconds = 300;
+
+    /**
+     * 最多统计的 SQL 指纹数，超出后归入 "other"
+     */
+    private int maxFingerprints = 1000;
+}
@@ -0,0 +1,34 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户账号布隆过滤器配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.account-bloom")
+@Data
+public class UserAccountBloomProperties {
+
+    /**
+     * 是否启用，关闭后注册时总是查询数据库确认账号是否存在
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预计账号数量，超出后误判率会上升
+     */
+    private long expectedInsertions = 1000000;
+
+    /**
+     * 期望误判率
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 启动时加载已有账号的每批条数
+     */
+    private int loadBatchSize = 5000;
+}
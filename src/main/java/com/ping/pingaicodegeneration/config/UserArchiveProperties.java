@@ -0,0 +1,44 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 已删除用户归档配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.archive")
+@Data
+public class UserArchiveProperties {
+
+    /**
+     * 是否启用定时归档
+     */
+    private boolean enabled = true;
+
+    /**
+     * 逻辑删除超过该天数的用户移入归档表
+     */
+    private int retentionDays = 30;
+
+    /**
+     * 每批归档的用户数（一个事务）
+     */
+    private int batchSize = 500;
+
+    /**
+     * 两批之间的间隔（毫秒），限制对主库的写入压力
+     */
+    private long batchIntervalMillis = 200;
+
+    /**
+     * 每次执行最多归档的批数，未处理完的下次从检查点继续
+     */
+    private int maxBatchesPerRun = 200;
+
+    /**
+     * 执行间隔（秒）
+     */
+    private long intervalSeconds = 3600;
+}
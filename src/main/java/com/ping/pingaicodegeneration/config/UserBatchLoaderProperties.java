@@ -0,0 +1,44 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户批量加载（请求合并）配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.batch-loader")
+@Data
+public class UserBatchLoaderProperties {
+
+    /**
+     * 是否合并单个 id 的查询，关闭后每次直接按 id 查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 合并窗口（毫秒），窗口内的单 id 查询合并为一次 IN 查询
+     */
+    private long maxWaitMillis = 2;
+
+    /**
+     * 单批最多合并的 id 数，达到后立即查询
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * 同步获取时的最长等待时间（毫秒），超时返回系统错误
+     */
+    private long timeoutMillis = 3000;
+
+    /**
+     * 执行合并查询的线程数
+     */
+    private int threads = 2;
+
+    /**
+     * 批量接口单次最多查询的 id 数
+     */
+    private int maxRequestIds = 100;
+}
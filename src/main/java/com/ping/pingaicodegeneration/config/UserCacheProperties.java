@@ -0,0 +1,24 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录用户本地缓存配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.cache")
+@Data
+public class UserCacheProperties {
+
+    /**
+     * 最多缓存的用户数，超出后按访问频率淘汰
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 写入后过期时间（秒），兜底其他节点修改用户后本节点读到旧数据的时长
+     */
+    private long expireAfterWriteSeconds = 300;
+}
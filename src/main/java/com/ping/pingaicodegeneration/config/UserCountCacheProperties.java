@@ -0,0 +1,24 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户分页总数缓存配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.count-cache")
+@Data
+public class UserCountCacheProperties {
+
+    /**
+     * 最多缓存的查询条件数
+     */
+    private long maximumSize = 1000;
+
+    /**
+     * 写入后过期时间（秒），即其他节点写入后总数偏差的最长持续时间；命中缓存的总数均标记为不精确
+     */
+    private long expireAfterWriteSeconds = 60;
+}
@@ -0,0 +1,29 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户批量导入配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.import")
+@Data
+public class UserImportProperties {
+
+    /**
+     * 每批写入的行数，每批一个 JDBC batch、一个事务
+     */
+    private int batchSize = 500;
+
+    /**
+     * 单次导入的最大行数
+     */
+    private int maxRows = 50000;
+
+    /**
+     * 加密密码时最多占用的加密线程数，0 表示加密线程池的一半，给登录、注册留出余量
+     */
+    private int hashParallelism = 0;
+}
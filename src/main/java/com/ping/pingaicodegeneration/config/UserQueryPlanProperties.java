@@ -0,0 +1,19 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户列表查询计划配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.query-plan")
+@Data
+public class UserQueryPlanProperties {
+
+    /**
+     * 排序无法走索引时是否拒绝请求；关闭后改为按 id 排序
+     */
+    private boolean rejectUnindexedSort = true;
+}
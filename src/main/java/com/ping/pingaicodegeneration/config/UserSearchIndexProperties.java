@@ -0,0 +1,55 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户搜索索引配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.search-index")
+@Data
+public class UserSearchIndexProperties {
+
+    /**
+     * 是否启用本地 n-gram 索引，关闭后按原有 LIKE 查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 分词长度，短于该长度的关键词无法走索引
+     */
+    private int gramSize = 2;
+
+    /**
+     * 单次搜索允许的最大候选 id 数，超出后回退为 LIKE 查询
+     */
+    private int maxCandidates = 1000;
+
+    /**
+     * 允许建立索引的最大用户数，超出后不再使用索引，避免占用过多内存
+     */
+    private int maxDocuments = 200000;
+
+    /**
+     * 允许的最大倒排项总数（每个用户每个字段的每个不同分词记一项，每项约占 60 字节），
+     * 超出后停用索引，默认约占 120MB
+     */
+    private long maxPostingEntries = 2000000;
+
+    /**
+     * 应用节点与数据库之间允许的时钟偏差（秒），判断索引完整时间点时预留
+     */
+    private long clockSkewSeconds = 5;
+
+    /**
+     * 重建索引时每批读取的用户数
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * 全量重建间隔（秒），启动时立即重建一次；多节点部署时用于兜底其他节点的写入
+     */
+    private long rebuildIntervalSeconds = 600;
+}
@@ -0,0 +1,20 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录会话配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.user.session")
+@Data
+public class UserSessionProperties {
+
+    /**
+     * 会话凭证的有效期（秒），期内权限校验直接使用凭证中的角色，不查询用户；
+     * 过期后权限校验直接查库核对（不经过本地用户缓存），因此也是其他会话感知到角色变更的最长延迟
+     */
+    private long principalTtlSeconds = 60;
+}
@@ -0,0 +1,42 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.ping.pingaicodegeneration.datasource.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 虚拟线程模式配置（spring.threads.virtual.enabled=true 时生效）
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * 为数据源加上并发连接数限制，防止虚拟线程压垮连接池
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                    return bean;
+                }
+                VirtualThreadProperties properties = Binder.get(environment)
+                        .bindOrCreate("ping.virtual-thread", VirtualThreadProperties.class);
+                int permits = properties.getJdbcPermits() > 0
+                        ? properties.getJdbcPermits() : hikariDataSource.getMaximumPoolSize();
+                log.info("虚拟线程模式：数据源 {} 并发连接许可数 {}", beanName, permits);
+                return new ConcurrencyLimitedDataSource(hikariDataSource, hikariDataSource.getJdbcUrl(),
+                        permits, properties.getJdbcAcquireTimeoutMillis());
+            }
+        };
+    }
+}
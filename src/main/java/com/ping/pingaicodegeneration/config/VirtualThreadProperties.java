@@ -0,0 +1,36 @@
+package com.ping.pingaicodegeneration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 虚拟线程模式配置
+ * <p>
+ * 虚拟线程本身通过 spring.threads.virtual.enabled 开启（Tomcat 请求线程与 Spring 异步任务），这里是配套的保护措施
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ping.virtual-thread")
+@Data
+public class VirtualThreadProperties {
+
+    /**
+     * 同时持有数据库连接的最大线程数，小于等于 0 时取连接池最大连接数
+     */
+    private int jdbcPermits = 0;
+
+    /**
+     * 等待数据库连接许可的最长时间（毫秒）
+     */
+    private long jdbcAcquireTimeoutMillis = 30000;
+
+    /**
+     * 是否监控虚拟线程固定（pinning）到载体线程
+     */
+    private boolean pinningMonitorEnabled = true;
+
+    /**
+     * 固定时长超过该值（毫秒）才记录
+     */
+    private long pinningThresholdMillis = 20;
+}
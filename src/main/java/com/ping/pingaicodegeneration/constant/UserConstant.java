@@ -10,6 +10,21 @@ public interface UserConstant {
      */
     String USER_LOGIN_STATE = "user_login";
 
+    /**
+     * 当前请求已解析的登录用户键（request attribute，单次请求内复用）
+     */
+    String LOGIN_USER_REQUEST_ATTR = "ping.loginUser";
+
+    /**
+     * 管理员创建、批量导入用户时的默认密码
+     */
+    String DEFAULT_PASSWORD = "12345678";
+
+    /**
+     * 用户 id 生成器在 MyBatis-Flex 中的注册名
+     */
+    String USER_ID_KEY_GENERATOR = "userId";
+
     //  region 权限
 
     /**
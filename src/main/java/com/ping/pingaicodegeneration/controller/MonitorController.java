@@ -0,0 +1,132 @@
+package com.ping.pingaicodegeneration.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ping.pingaicodegeneration.annotation.AuthCheck;
+import com.ping.pingaicodegeneration.common.BaseResponse;
+import com.ping.pingaicodegeneration.common.ResultUtils;
+import com.ping.pingaicodegeneration.constant.UserConstant;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.exception.ThrowUtils;
+import com.ping.pingaicodegeneration.manager.PasswordHashManager;
+import com.ping.pingaicodegeneration.manager.SqlStatsManager;
+import com.ping.pingaicodegeneration.manager.UserCacheManager;
+import com.ping.pingaicodegeneration.manager.UserCountCacheManager;
+import com.ping.pingaicodegeneration.manager.VirtualThreadPinningMonitor;
+import com.ping.pingaicodegeneration.model.vo.CacheStatsVO;
+import com.ping.pingaicodegeneration.model.vo.PasswordHashStatsVO;
+import com.ping.pingaicodegeneration.model.vo.SqlStatsVO;
+import jakarta.annotation.Resource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行监控 控制层（仅管理员）
+ */
+@RestController
+@RequestMapping("/monitor")
+public class MonitorController {
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private UserCountCacheManager userCountCacheManager;
+
+    @Resource
+    private PasswordHashManager passwordHashManager;
+
+    @Resource
+    private ObjectProvider<VirtualThreadPinningMonitor> virtualThreadPinningMonitorProvider;
+
+    @Resource
+    private SqlStatsManager sqlStatsManager;
+
+    /**
+     * 获取登录用户缓存的命中统计
+     */
+    @GetMapping("/cache/user")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<CacheStatsVO> getUserCacheStats() {
+        return ResultUtils.success(toCacheStatsVO("user", userCacheManager.size(), userCacheManager.stats()));
+    }
+
+    /**
+     * 获取用户分页总数缓存的命中统计
+     */
+    @GetMapping("/cache/user-count")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<CacheStatsVO> getUserCountCacheStats() {
+        return ResultUtils.success(toCacheStatsVO("userCount", userCountCacheManager.size(), userCountCacheManager.stats()));
+    }
+
+    /**
+     * 获取密码加密线程池的排队与计算耗时统计
+     */
+    @GetMapping("/password-hash")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<PasswordHashStatsVO> getPasswordHashStats() {
+        long hashCount = passwordHashManager.getHashCount();
+        PasswordHashStatsVO passwordHashStatsVO = new PasswordHashStatsVO();
+        passwordHashStatsVO.setHashCount(hashCount);
+        passwordHashStatsVO.setRejectedCount(passwordHashManager.getRejectedCount());
+        passwordHashStatsVO.setQueueSize(passwordHashManager.getQueueSize());
+        passwordHashStatsVO.setAvgQueueWaitMillis(hashCount == 0 ? 0
+                : passwordHashManager.getQueueWaitNanos() / 1e6 / hashCount);
+        passwordHashStatsVO.setAvgHashMillis(hashCount == 0 ? 0
+                : passwordHashManager.getHashNanos() / 1e6 / hashCount);
+        return ResultUtils.success(passwordHashStatsVO);
+    }
+
+    /**
+     * 按总耗时倒序获取 SQL 执行统计
+     *
+     * @param limit 返回的 SQL 类数
+     */
+    @GetMapping("/sql/top")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<List<SqlStatsVO>> getSqlTop(@RequestParam(defaultValue = "20") int limit) {
+        ThrowUtils.throwIf(limit <= 0 || limit > 500, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(sqlStatsManager.top(limit));
+    }
+
+    /**
+     * 清空 SQL 执行统计
+     */
+    @PostMapping("/sql/reset")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<Boolean> resetSqlStats() {
+        sqlStatsManager.reset();
+        return ResultUtils.success(true);
+    }
+
+    /**
+     * 获取虚拟线程固定到载体线程的位置统计（未开启虚拟线程时为空）
+     */
+    @GetMapping("/virtual-thread/pinned")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<Map<String, Long>> getVirtualThreadPinnedCounts() {
+        VirtualThreadPinningMonitor monitor = virtualThreadPinningMonitorProvider.getIfAvailable();
+        return ResultUtils.success(monitor == null ? Map.of() : monitor.getPinnedCounts());
+    }
+
+    /**
+     * 转换缓存统计信息
+     */
+    private CacheStatsVO toCacheStatsVO(String name, long size, CacheStats stats) {
+        CacheStatsVO cacheStatsVO = new CacheStatsVO();
+        cacheStatsVO.setName(name);
+        cacheStatsVO.setSize(size);
+        cacheStatsVO.setHitCount(stats.hitCount());
+        cacheStatsVO.setMissCount(stats.missCount());
+        cacheStatsVO.setHitRate(stats.hitRate());
+        cacheStatsVO.setEvictionCount(stats.evictionCount());
+        return cacheStatsVO;
+    }
+}
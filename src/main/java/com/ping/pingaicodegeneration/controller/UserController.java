@@ -3,22 +3,41 @@ package com.ping.pingaicodegeneration.controller;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.ping.pingaicodegeneration.annotation.AuthCheck;
+import com.ping.pingaicodegeneration.annotation.LoadPriority;
+import com.ping.pingaicodegeneration.annotation.RateLimit;
 import com.ping.pingaicodegeneration.common.BaseResponse;
+import com.ping.pingaicodegeneration.common.CursorPage;
 import com.ping.pingaicodegeneration.common.DeleteRequest;
 import com.ping.pingaicodegeneration.common.ResultUtils;
 import com.ping.pingaicodegeneration.constant.UserConstant;
+import com.ping.pingaicodegeneration.convert.UserConvert;
+import com.ping.pingaicodegeneration.datasource.DataSourceRouteContext;
 import com.ping.pingaicodegeneration.exception.ErrorCode;
 import com.ping.pingaicodegeneration.exception.ThrowUtils;
+import com.ping.pingaicodegeneration.manager.UserBatchLoader;
 import com.ping.pingaicodegeneration.model.dto.*;
 import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.entity.UserLoginLog;
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+import com.ping.pingaicodegeneration.model.enums.RateLimitTypeEnum;
+import com.ping.pingaicodegeneration.model.enums.UserExportFormatEnum;
 import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserBatchVO;
+import com.ping.pingaicodegeneration.model.vo.UserImportResultVO;
 import com.ping.pingaicodegeneration.model.vo.UserVO;
 import com.ping.pingaicodegeneration.service.UserService;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.BeanUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -33,6 +52,14 @@ public class UserController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private UserBatchLoader userBatchLoader;
+
+    /**
+     * 用户信息响应只允许浏览器私有缓存，每次使用前都要带 If-None-Match 重新校验
+     */
+    private static final String USER_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
     /**
      * 用户注册
      *
@@ -40,6 +67,8 @@ public class UserController {
      * @return 用户ID
      */
     @PostMapping("/register")
+    @RateLimit(type = RateLimitTypeEnum.IP, permits = 10, periodSeconds = 60)
+    @RateLimit(type = RateLimitTypeEnum.ACCOUNT, key = "#userRegisterRequest?.userAccount", permits = 3, periodSeconds = 60)
     public BaseResponse<Long> userRegister(@RequestBody UserRegisterRequest userRegisterRequest) {
         ThrowUtils.throwIf(userRegisterRequest == null, ErrorCode.PARAMS_ERROR);
         String userAccount = userRegisterRequest.getUserAccount();
@@ -57,6 +86,9 @@ public class UserController {
      * @return 脱敏后的用户登录信息
      */
     @PostMapping("/login")
+    @LoadPriority(LoadPriorityEnum.CRITICAL)
+    @RateLimit(type = RateLimitTypeEnum.IP, permits = 30, periodSeconds = 60)
+    @RateLimit(type = RateLimitTypeEnum.ACCOUNT, key = "#userLoginRequest?.userAccount", permits = 5, periodSeconds = 60)
     public BaseResponse<LoginUserVO> userLogin(@RequestBody UserLoginRequest userLoginRequest,
                                                HttpServletRequest request) {
         ThrowUtils.throwIf(userLoginRequest == null, ErrorCode.PARAMS_ERROR);
@@ -73,8 +105,14 @@ public class UserController {
      * @return
      */
     @GetMapping("/get/login")
-    public BaseResponse<LoginUserVO> getLoginUser(HttpServletRequest request) {
+    @LoadPriority(LoadPriorityEnum.CRITICAL)
+    public BaseResponse<LoginUserVO> getLoginUser(HttpServletRequest request, HttpServletResponse response,
+                                                  WebRequest webRequest) {
+        // 登录用户优先从本地缓存读取，命中时校验 ETag 不查库
         User loginUser = userService.getLoginUser(request);
+        if (isNotModified(loginUser, response, webRequest)) {
+            return null;
+        }
         LoginUserVO loginUserVO = userService.getLoginUserVO(loginUser);
         return ResultUtils.success(loginUserVO);
     }
@@ -86,6 +124,7 @@ public class UserController {
      * @return 操作结果
      */
     @PostMapping("/logout")
+    @LoadPriority(LoadPriorityEnum.CRITICAL)
     public BaseResponse<Boolean> userLogout(HttpServletRequest request) {
         ThrowUtils.throwIf(request == null, ErrorCode.PARAMS_ERROR);
         boolean result = userService.userLogout(request);
@@ -102,11 +141,9 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Long> addUser(@RequestBody UserAddRequest userAddRequest) {
         ThrowUtils.throwIf(userAddRequest == null, ErrorCode.PARAMS_ERROR);
-        User user = new User();
-        BeanUtils.copyProperties(userAddRequest, user);
+        User user = UserConvert.INSTANCE.toUser(userAddRequest);
         // 默认密码是：12345678
-        final String DEFAULT_PASSWORD = "12345678";
-        String encryptPassword = userService.getEncryptPassword(DEFAULT_PASSWORD);
+        String encryptPassword = userService.getEncryptPassword(UserConstant.DEFAULT_PASSWORD);
         user.setUserPassword(encryptPassword);
         boolean result = userService.save(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
@@ -129,39 +166,108 @@ public class UserController {
      * 根据 id 获取包装类 (普通用户使用）
      */
     @GetMapping("/get/vo")
-    public BaseResponse<UserVO> getUserVOById(long id) {
-        BaseResponse<User> response = getUserById(id);
-        User user = response.getData();
+    public BaseResponse<UserVO> getUserVOById(long id, HttpServletRequest request, HttpServletResponse response,
+                                              WebRequest webRequest) {
+        ThrowUtils.throwIf(id <= 0, ErrorCode.PARAMS_ERROR);
+        User user;
+        if (Long.valueOf(id).equals(userService.getLoginUserIdOrNull(request))
+                && !DataSourceRouteContext.isPinnedToPrimary()) {
+            // 查看自己时复用登录用户的本地缓存：凭证过期时会查库核对并刷新缓存，其他节点上的修改最迟在凭证有效期后可见
+            user = userService.getLoginUser(request);
+        } else {
+            // 其他用户的本地缓存只在本节点修改时失效，可能落后其他节点的修改达缓存有效期，因此不使用；
+            // 并发的单 id 查询在加载器中合并为批量查询
+            user = userBatchLoader.get(id);
+        }
+        ThrowUtils.throwIf(user == null, ErrorCode.NOT_FOUND_ERROR);
+        if (isNotModified(user, response, webRequest)) {
+            return null;
+        }
         return ResultUtils.success(userService.getUserVO(user));
     }
 
+    /**
+     * 根据 id 列表批量获取包装类（普通用户使用）
+     *
+     * @param userBatchGetRequest 批量获取请求
+     * @return 按请求顺序排列的用户信息及不存在的 id
+     */
+    @PostMapping("/get/vo/batch")
+    public BaseResponse<UserBatchVO> getUserVOBatch(@RequestBody UserBatchGetRequest userBatchGetRequest) {
+        ThrowUtils.throwIf(userBatchGetRequest == null, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(userService.getUserVOBatch(userBatchGetRequest.getIds()));
+    }
+
     /**
      * 分页获取用户封装列表（仅管理员）
      *
      * @param userQueryRequest 查询请求参数
      */
     @PostMapping("/list/page/vo")
+    @LoadPriority(LoadPriorityEnum.LOW)
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<UserVO>> listUserVOByPage(@RequestBody UserQueryRequest userQueryRequest) {
         ThrowUtils.throwIf(userQueryRequest == null, ErrorCode.PARAMS_ERROR);
-        // 1. 获取分页参数 - Page.of() 方法需要 long 参数
-        long pageNum = userQueryRequest.getCurrent();
-        long pageSize = userQueryRequest.getPageSize();
-        // 2. 分页查询
-        // 创建分页对象 - 明确分页参数
-        Page<User> pageInfo = Page.of(pageNum, pageSize);
-        // 构建查询条件 - 明确查询规则
-        QueryWrapper queryWrapper = userService.getUserQueryWrapper(userQueryRequest);
-        // 执行分页查询 - 明确查询动作
-        Page<User> userPage = userService.page(pageInfo, queryWrapper);
-        // 3. 将分页结果转换为封装类
-        // 创建新的脱敏分页对象（只包含分页信息，没有数据）
-        Page<UserVO> userVOPage = new Page<>(pageNum, pageSize, userPage.getTotalRow());
-        // 脱敏后的当前页数据
-        List<UserVO> userVOList = userService.getUserVOList(userPage.getRecords());
-        // 将脱敏后的当前页数据设置到分页对象中
-        userVOPage.setRecords(userVOList);
-        return ResultUtils.success(userVOPage);
+        return ResultUtils.success(userService.listUserVOByPage(userQueryRequest));
+    }
+
+    /**
+     * 游标分页获取用户封装列表（仅管理员）
+     * <p>
+     * 按 (sortField, id) 定位翻页，深翻页不会随偏移量变慢；传入上一次返回的 nextCursor / prevCursor 翻页
+     *
+     * @param userQueryRequest 查询请求参数
+     */
+    @PostMapping("/list/cursor/vo")
+    @LoadPriority(LoadPriorityEnum.LOW)
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<CursorPage<UserVO>> listUserVOByCursor(@RequestBody UserQueryRequest userQueryRequest) {
+        ThrowUtils.throwIf(userQueryRequest == null, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(userService.listUserVOByCursor(userQueryRequest));
+    }
+
+    /**
+     * 流式导出用户（仅管理员）
+     * <p>
+     * 筛选条件与分页查询相同，结果逐行写出，支持 ndjson / csv 及 gzip 压缩
+     *
+     * @param userExportRequest 导出请求参数
+     * @param response          响应
+     */
+    @PostMapping("/export")
+    @LoadPriority(LoadPriorityEnum.LOW)
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public void exportUser(@RequestBody UserExportRequest userExportRequest,
+                           HttpServletResponse response) throws IOException {
+        ThrowUtils.throwIf(userExportRequest == null, ErrorCode.PARAMS_ERROR);
+        UserExportFormatEnum format = UserExportFormatEnum.getEnumByValue(userExportRequest.getFormat());
+        ThrowUtils.throwIf(format == null, ErrorCode.PARAMS_ERROR, "导出格式错误");
+        // 响应开始写出后无法再返回错误信息，参数校验（包括查询条件、排序字段）需在设置响应头之前完成
+        QueryWrapper queryWrapper = userService.getUserQueryWrapper(userExportRequest);
+        boolean gzip = userExportRequest.isGzip();
+        String fileName = "users-" + System.currentTimeMillis() + "." + format.getValue() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        userService.exportUserVO(queryWrapper, format, gzip, response.getOutputStream());
+    }
+
+    /**
+     * 批量导入用户（仅管理员）
+     * <p>
+     * 上传 NDJSON 文件，每行一个用户导入记录（用户创建请求 + 可选的初始密码）；重复或不合法的行逐行报告
+     *
+     * @param file 导入文件
+     * @return 导入结果
+     */
+    @PostMapping("/import")
+    @LoadPriority(LoadPriorityEnum.LOW)
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<UserImportResultVO> importUser(@RequestPart("file") MultipartFile file) throws IOException {
+        ThrowUtils.throwIf(file == null || file.isEmpty(), ErrorCode.PARAMS_ERROR, "导入文件为空");
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResultUtils.success(userService.importUsers(inputStream));
+        }
     }
 
     /**
@@ -174,8 +280,7 @@ public class UserController {
         ThrowUtils.throwIf(userUpdateRequest == null ||
                 userUpdateRequest.getId() == null ||
                 userUpdateRequest.getId() <= 0, ErrorCode.PARAMS_ERROR);
-        User user = new User();
-        BeanUtils.copyProperties(userUpdateRequest, user);
+        User user = UserConvert.INSTANCE.toUser(userUpdateRequest);
         boolean result = userService.updateById(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(true);
@@ -194,4 +299,43 @@ public class UserController {
         boolean result = userService.removeById(deleteRequest.getId());
         return ResultUtils.success(result);
     }
+
+    /**
+     * 查询用户最近的登录记录（仅管理员）
+     */
+    @PostMapping("/login/log/list")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    @LoadPriority(LoadPriorityEnum.LOW)
+    public BaseResponse<List<UserLoginLog>> listRecentLogins(@RequestBody UserLoginLogQueryRequest
+                                                                     userLoginLogQueryRequest) {
+        return ResultUtils.success(userService.listRecentLogins(userLoginLogQueryRequest));
+    }
+
+    /**
+     * 恢复已归档的用户（仅管理员）
+     */
+    @PostMapping("/archive/restore")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public BaseResponse<Boolean> restoreArchivedUser(@RequestBody UserRestoreRequest userRestoreRequest) {
+        ThrowUtils.throwIf(userRestoreRequest == null ||
+                userRestoreRequest.getId() == null ||
+                userRestoreRequest.getId() <= 0, ErrorCode.PARAMS_ERROR);
+        userService.restoreArchivedUser(userRestoreRequest.getId());
+        return ResultUtils.success(true);
+    }
+
+    /**
+     * 设置用户信息的 ETag 并校验 If-None-Match
+     * <p>
+     * 未变化时响应已被置为 304，控制层直接返回 null，跳过脱敏转换和序列化
+     *
+     * @param user       用户
+     * @param response   响应
+     * @param webRequest 请求
+     * @return 客户端缓存是否仍然有效
+     */
+    private boolean isNotModified(User user, HttpServletResponse response, WebRequest webRequest) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, USER_CACHE_CONTROL);
+        return webRequest.checkNotModified(userService.getUserETag(user));
+    }
 }
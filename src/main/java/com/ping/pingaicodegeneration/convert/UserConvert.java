@@ -0,0 +1,43 @@
+package com.ping.pingaicodegeneration.convert;
+
+import com.ping.pingaicodegeneration.model.dto.UserAddRequest;
+import com.ping.pingaicodegeneration.model.dto.UserUpdateRequest;
+import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * 用户对象转换（编译期生成实现，替代反射的 BeanUtils.copyProperties）
+ * <p>
+ * 语义与 BeanUtils.copyProperties 一致：同名同类型属性逐个复制，null 也照常复制，
+ * 目标类中多出的属性保持默认值
+ */
+@Mapper(builder = @Builder(disableBuilder = true), unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UserConvert {
+
+    UserConvert INSTANCE = Mappers.getMapper(UserConvert.class);
+
+    /**
+     * 用户 转 脱敏用户信息
+     */
+    UserVO toUserVO(User user);
+
+    /**
+     * 用户 转 脱敏登录用户信息
+     */
+    LoginUserVO toLoginUserVO(User user);
+
+    /**
+     * 用户创建请求 转 用户
+     */
+    User toUser(UserAddRequest userAddRequest);
+
+    /**
+     * 用户更新请求 转 用户
+     */
+    User toUser(UserUpdateRequest userUpdateRequest);
+}
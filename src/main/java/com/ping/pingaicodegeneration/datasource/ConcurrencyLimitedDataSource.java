@@ -0,0 +1,114 @@
+package com.ping.pingaicodegeneration.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 限制并发连接数的数据源
+ * <p>
+ * 虚拟线程数量几乎不受限制，成千上万个线程同时向连接池要连接会造成大量超时；
+ * 这里用公平信号量让超出连接池容量的线程先在信号量上排队，连接关闭时归还许可
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMillis;
+
+    private final String jdbcUrl;
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, String jdbcUrl, int permits,
+                                        long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.jdbcUrl = jdbcUrl;
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * MyBatis-Flex 通过该方法识别数据库方言
+     */
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 当前排队等待许可的线程数（估算值）
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 当前可用许可数
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("等待数据库连接许可超时 " + acquireTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("等待数据库连接许可被中断", e);
+        }
+    }
+
+    /**
+     * 包装连接，关闭时归还许可（重复关闭只归还一次）
+     */
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
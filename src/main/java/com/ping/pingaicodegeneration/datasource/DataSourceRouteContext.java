@@ -0,0 +1,102 @@
+package com.ping.pingaicodegeneration.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * 读写分离路由上下文
+ * <p>
+ * 记录当前线程是否处于只读范围，以及当前请求 / 会话是否刚写过主库（写后读需要读主库，避免读到从库的延迟数据）
+ */
+public final class DataSourceRouteContext {
+
+    private static final String WRITTEN_ATTRIBUTE = DataSourceRouteContext.class.getName() + ".written";
+
+    private static final String PINNED_UNTIL_ATTRIBUTE = DataSourceRouteContext.class.getName() + ".pinnedUntil";
+
+    /**
+     * 只读范围的嵌套深度
+     */
+    private static final ThreadLocal<int[]> REPLICA_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private DataSourceRouteContext() {
+    }
+
+    /**
+     * 进入只读范围，必须与 {@link #exitReplica()} 成对调用
+     */
+    public static void enterReplica() {
+        REPLICA_DEPTH.get()[0]++;
+    }
+
+    /**
+     * 退出只读范围
+     */
+    public static void exitReplica() {
+        int[] depth = REPLICA_DEPTH.get();
+        if (--depth[0] <= 0) {
+            REPLICA_DEPTH.remove();
+        }
+    }
+
+    /**
+     * 在只读范围内执行（用于非 Spring 代理调用的查询，如批量加载线程）
+     *
+     * @param supplier 查询
+     * @param <T>      结果类型
+     * @return 查询结果
+     */
+    public static <T> T callOnReplica(Supplier<T> supplier) {
+        enterReplica();
+        try {
+            return supplier.get();
+        } finally {
+            exitReplica();
+        }
+    }
+
+    /**
+     * 当前线程是否处于只读范围
+     */
+    public static boolean isReplicaPreferred() {
+        return REPLICA_DEPTH.get()[0] > 0;
+    }
+
+    /**
+     * 记录当前请求写过主库：本请求剩余的查询都走主库；有会话时，会话在 sessionPinMillis 内的后续请求也走主库
+     *
+     * @param sessionPinMillis 会话固定到主库的时长（毫秒），小于等于 0 时只固定当前请求
+     */
+    public static void markWritten(long sessionPinMillis) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes)) {
+            return;
+        }
+        HttpServletRequest request = requestAttributes.getRequest();
+        request.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE);
+        // 不主动创建会话
+        HttpSession session = request.getSession(false);
+        if (sessionPinMillis > 0 && session != null) {
+            session.setAttribute(PINNED_UNTIL_ATTRIBUTE, System.currentTimeMillis() + sessionPinMillis);
+        }
+    }
+
+    /**
+     * 当前请求是否需要固定读主库
+     */
+    public static boolean isPinnedToPrimary() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes)) {
+            return false;
+        }
+        HttpServletRequest request = requestAttributes.getRequest();
+        if (request.getAttribute(WRITTEN_ATTRIBUTE) != null) {
+            return true;
+        }
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(PINNED_UNTIL_ATTRIBUTE) instanceof Long pinnedUntil
+                && pinnedUntil > System.currentTimeMillis();
+    }
+}
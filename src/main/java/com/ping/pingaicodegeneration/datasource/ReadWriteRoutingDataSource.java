@@ -0,0 +1,213 @@
+package com.ping.pingaicodegeneration.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离数据源
+ * <p>
+ * 只读范围内（{@link DataSourceRouteContext#isReplicaPreferred()}）且当前请求未写过主库时，在健康的从库间轮询取连接，
+ * 其余情况一律走主库。从库取连接失败时标记为不可用并立即改用主库，后台定期探活，恢复后重新加入轮询
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final String jdbcUrl;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder replicaRouteCount = new LongAdder();
+
+    private final LongAdder fallbackCount = new LongAdder();
+
+    private final int healthCheckTimeoutSeconds;
+
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * @param primary                    主库
+     * @param jdbcUrl                    主库地址
+     * @param replicas                   从库（名称 -> 数据源）
+     * @param healthCheckIntervalSeconds 探活间隔（秒），小于等于 0 时不自动探活
+     * @param healthCheckTimeoutSeconds  探活超时（秒）
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, String jdbcUrl, Map<String, DataSource> replicas,
+                                      long healthCheckIntervalSeconds, int healthCheckTimeoutSeconds) {
+        this.primary = primary;
+        this.jdbcUrl = jdbcUrl;
+        List<Replica> replicaList = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> replicaList.add(new Replica(name, dataSource)));
+        this.replicas = Collections.unmodifiableList(replicaList);
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        if (healthCheckIntervalSeconds > 0 && !replicaList.isEmpty()) {
+            this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckIntervalSeconds,
+                    healthCheckIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.healthChecker = null;
+        }
+    }
+
+    /**
+     * MyBatis-Flex 通过该方法识别数据库方言
+     */
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaRouteCount.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection(username, password);
+                replicaRouteCount.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 对所有从库探活：不可用的从库恢复后重新加入轮询，可用的从库探活失败则摘除
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("从库 {} 已恢复", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("从库 {} 探活失败，暂停使用", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * 各从库是否可用（从库名称 -> 是否可用）
+     */
+    public Map<String, Boolean> getReplicaHealth() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            health.put(replica.name, replica.healthy);
+        }
+        return health;
+    }
+
+    /**
+     * 路由到从库的连接数
+     */
+    public long getReplicaRouteCount() {
+        return replicaRouteCount.sum();
+    }
+
+    /**
+     * 只读请求因从库不可用改走主库的次数
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        // 主库由 Spring 容器管理，这里只关闭从库连接池
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("关闭从库 {} 失败", replica.name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 选择本次使用的从库，返回 null 表示走主库
+     */
+    private Replica selectReplica() {
+        if (replicas.isEmpty() || !DataSourceRouteContext.isReplicaPreferred()
+                || DataSourceRouteContext.isPinnedToPrimary()) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        fallbackCount.increment();
+        return null;
+    }
+
+    private void markDown(Replica replica, Exception e) {
+        fallbackCount.increment();
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("从库 {} 获取连接失败，暂停使用并改走主库", replica.name, e);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -11,8 +11,10 @@ public enum ErrorCode {
     NO_AUTH_ERROR(40101, "无权限"),
     NOT_FOUND_ERROR(40400, "请求数据不存在"),
     FORBIDDEN_ERROR(40300, "禁止访问"),
+    TOO_MANY_REQUEST(42900, "请求过于频繁，请稍后重试"),
     SYSTEM_ERROR(50000, "系统内部异常"),
-    OPERATION_ERROR(50001, "操作失败");
+    OPERATION_ERROR(50001, "操作失败"),
+    SERVICE_BUSY(50300, "系统繁忙，请稍后重试");
 
     /**
      * 状态码
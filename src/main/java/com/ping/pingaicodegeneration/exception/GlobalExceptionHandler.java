@@ -2,7 +2,9 @@ package com.ping.pingaicodegeneration.exception;
 
 import com.ping.pingaicodegeneration.common.BaseResponse;
 import com.ping.pingaicodegeneration.common.ResultUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,16 +19,21 @@ import static com.ping.pingaicodegeneration.exception.ErrorCode.SYSTEM_ERROR;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @Resource
+    private MeterRegistry meterRegistry;
+
     // 切点
     @ExceptionHandler(BusinessException.class)
     public BaseResponse<?> businessExceptionHandler(BusinessException e) {
         log.error("业务异常 BusinessException", e);
+        countError(e.getCode(), e);
         return ResultUtils.error(e.getCode(),e.getMessage());
     }
 
     @ExceptionHandler(RuntimeException.class)
     public BaseResponse<?> runtimeExceptionHandler(RuntimeException e) {
         log.error("运行时异常 RuntimeException", e);
+        countError(SYSTEM_ERROR.getCode(), e);
         return ResultUtils.error(SYSTEM_ERROR,SYSTEM_ERROR.getMessage());
     }
 
@@ -36,6 +43,16 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public BaseResponse<?> exceptionHandler(Exception e) {
         log.error("系统异常 Exception", e);
+        countError(SYSTEM_ERROR.getCode(), e);
         return ResultUtils.error(SYSTEM_ERROR, "系统繁忙，请稍后重试");
     }
+
+    /**
+     * 按错误码统计返回的错误数
+     */
+    private void countError(int code, Exception e) {
+        meterRegistry.counter("ping.errors",
+                "code", String.valueOf(code),
+                "exception", e.getClass().getSimpleName()).increment();
+    }
 }
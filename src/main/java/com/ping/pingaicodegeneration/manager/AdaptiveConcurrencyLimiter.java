@@ -0,0 +1,216 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.ConcurrencyLimitProperties;
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 自适应并发限制器（Vegas 算法）
+ * <p>
+ * 以无排队时的请求耗时为基线，按 limit × (1 - 基线耗时 / 当前耗时) 估算排队的请求数：
+ * 排队少时增大并发上限，排队多时减小；数据库变慢时上限随之收缩，多出的请求直接拒绝而不是堆在连接池上。
+ * 获取、释放许可是无锁的，每个采样窗口结束时由一个线程调整一次上限
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<LoadPriorityEnum, LongAdder> rejectedCounts = new EnumMap<>(LoadPriorityEnum.class);
+
+    private volatile int limit;
+
+    /**
+     * 当前窗口的耗时总和、样本数与最大并发数
+     */
+    private final LongAdder windowRttSum = new LongAdder();
+
+    private final LongAdder windowSamples = new LongAdder();
+
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private volatile long windowEndNanos;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    /**
+     * 无排队时的请求耗时（纳秒），由 updateLock 保护写入
+     */
+    private volatile long noLoadRttNanos;
+
+    private long nextProbeNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties concurrencyLimitProperties) {
+        this(concurrencyLimitProperties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties concurrencyLimitProperties, LongSupplier nanoClock) {
+        this.concurrencyLimitProperties = concurrencyLimitProperties;
+        this.nanoClock = nanoClock;
+        this.limit = clamp(concurrencyLimitProperties.getInitialLimit());
+        for (LoadPriorityEnum priority : LoadPriorityEnum.values()) {
+            rejectedCounts.put(priority, new LongAdder());
+        }
+        long now = nanoClock.getAsLong();
+        this.windowEndNanos = now + TimeUnit.MILLISECONDS.toNanos(concurrencyLimitProperties.getWindowMillis());
+        this.nextProbeNanos = now + nextProbeDelayNanos();
+    }
+
+    /**
+     * 尝试获取一个并发许可，低优先级只能使用上限的一部分，为核心接口保留余量
+     *
+     * @param priority 接口优先级
+     * @return 是否获取成功，成功后必须调用 {@link #release(LoadPriorityEnum, long)}
+     */
+    public boolean tryAcquire(LoadPriorityEnum priority) {
+        int maxInFlight = getMaxInFlight(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                rejectedCounts.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > windowMaxInFlight.get()) {
+                    windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可并记录本次请求耗时
+     * <p>
+     * 低优先级接口（列表、导出、导入）耗时长且波动大，只占用许可，不参与耗时采样
+     *
+     * @param priority 接口优先级
+     * @param rttNanos 请求耗时（纳秒）
+     */
+    public void release(LoadPriorityEnum priority, long rttNanos) {
+        inFlight.decrementAndGet();
+        if (priority == LoadPriorityEnum.LOW) {
+            return;
+        }
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+        long now = nanoClock.getAsLong();
+        if (now - windowEndNanos >= 0 && updateLock.tryLock()) {
+            try {
+                if (now - windowEndNanos >= 0) {
+                    updateLimit(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 指定优先级可用的并发上限
+     */
+    public int getMaxInFlight(LoadPriorityEnum priority) {
+        int current = limit;
+        return switch (priority) {
+            case CRITICAL -> current;
+            case NORMAL -> Math.max(1, current * concurrencyLimitProperties.getNormalLimitPercent() / 100);
+            case LOW -> Math.max(1, current * concurrencyLimitProperties.getLowLimitPercent() / 100);
+        };
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getNoLoadRttNanos() {
+        return noLoadRttNanos;
+    }
+
+    public long getRejectedCount(LoadPriorityEnum priority) {
+        return rejectedCounts.get(priority).sum();
+    }
+
+    /**
+     * 窗口结束时调整并发上限（持有 updateLock）
+     */
+    private void updateLimit(long now) {
+        // 样本不足时延长窗口，避免个别慢请求造成误判
+        if (windowSamples.sum() < concurrencyLimitProperties.getMinWindowSamples()) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        long rtt = Math.max(1, windowRttSum.sumThenReset() / samples);
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowEndNanos = now + TimeUnit.MILLISECONDS.toNanos(concurrencyLimitProperties.getWindowMillis());
+
+        // 定期以当前耗时重新作为基线，本窗口不调整上限
+        if (now - nextProbeNanos >= 0) {
+            noLoadRttNanos = rtt;
+            nextProbeNanos = now + nextProbeDelayNanos();
+            return;
+        }
+        long noLoadRtt = noLoadRttNanos;
+        if (noLoadRtt == 0 || rtt < noLoadRtt) {
+            noLoadRttNanos = noLoadRtt = rtt;
+        }
+
+        int current = limit;
+        double logLimit = Math.max(1, Math.log10(current));
+        double alpha = 3 * logLimit;
+        double beta = 6 * logLimit;
+        double queueSize = current * (1 - (double) noLoadRtt / rtt);
+        double newLimit;
+        if (queueSize > beta) {
+            // 轻度排队时线性减小；耗时超过基线 2 倍时按比例收缩，每个窗口最多减半
+            newLimit = Math.min(current - logLimit, current * Math.max(0.5, 2.0 * noLoadRtt / rtt));
+        } else if (maxInFlight * 2 < current) {
+            // 实际并发不到上限的一半，说明流量不足以证明更高的上限可行，不增长
+            return;
+        } else if (queueSize <= logLimit) {
+            newLimit = current + beta;
+        } else if (queueSize < alpha) {
+            newLimit = current + logLimit;
+        } else {
+            return;
+        }
+        int next = clamp((int) newLimit);
+        if (next != current) {
+            limit = next;
+            log.debug("并发上限调整 {} -> {}，窗口平均耗时 {}μs，基线 {}μs", current, next,
+                    TimeUnit.NANOSECONDS.toMicros(rtt), TimeUnit.NANOSECONDS.toMicros(noLoadRtt));
+        }
+    }
+
+    private int clamp(int value) {
+        return Math.max(concurrencyLimitProperties.getMinLimit(), Math.min(concurrencyLimitProperties.getMaxLimit(), value));
+    }
+
+    /**
+     * 探测间隔加入随机抖动，避免多个实例同时探测
+     */
+    private long nextProbeDelayNanos() {
+        long interval = TimeUnit.SECONDS.toNanos(concurrencyLimitProperties.getProbeIntervalSeconds());
+        return interval + ThreadLocalRandom.current().nextLong(interval / 2 + 1);
+    }
+}
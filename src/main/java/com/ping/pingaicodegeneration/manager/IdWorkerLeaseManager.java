@@ -0,0 +1,100 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import jakarta.annotation.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 雪花 id 工作节点租约管理（id_worker 表）
+ * <p>
+ * 每个实例启动后占用一个工作节点 id 并定期续约，同时记录已发出的最大时间戳；
+ * 租约过期的节点可被其他实例接管，接管后从记录的时间戳之后继续发号，避免与原实例的 id 重复
+ */
+@Component
+public class IdWorkerLeaseManager {
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 工作节点租约
+     *
+     * @param workerId      工作节点 id
+     * @param lastTimestamp 该节点已发出的最大时间戳（毫秒）
+     */
+    public record Lease(long workerId, long lastTimestamp) {
+    }
+
+    /**
+     * 占用一个工作节点：优先接管租约已过期的节点，其次占用未使用过的最小 id
+     *
+     * @param datacenterId 数据中心 id
+     * @param maxWorkerId  最大工作节点 id
+     * @param instance     实例标识
+     * @param leaseMillis  租约时长（毫秒）
+     * @return 租约
+     */
+    public Lease claim(long datacenterId, long maxWorkerId, String instance, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select workerId, lastTimestamp, heartbeatMillis from id_worker where datacenterId = ? order by workerId",
+                datacenterId);
+        Set<Long> usedWorkerIds = new HashSet<>();
+        for (Map<String, Object> row : rows) {
+            long workerId = ((Number) row.get("workerId")).longValue();
+            long heartbeatMillis = ((Number) row.get("heartbeatMillis")).longValue();
+            usedWorkerIds.add(workerId);
+            if (workerId > maxWorkerId || heartbeatMillis >= now - leaseMillis) {
+                continue;
+            }
+            // 以读到的心跳时间做乐观锁，多个实例同时接管时只有一个成功
+            int updated = jdbcTemplate.update("update id_worker set instance = ?, heartbeatMillis = ? "
+                    + "where datacenterId = ? and workerId = ? and heartbeatMillis = ?",
+                    instance, now, datacenterId, workerId, heartbeatMillis);
+            if (updated == 1) {
+                return new Lease(workerId, ((Number) row.get("lastTimestamp")).longValue());
+            }
+        }
+        for (long workerId = 0; workerId <= maxWorkerId; workerId++) {
+            if (usedWorkerIds.contains(workerId)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("insert into id_worker (datacenterId, workerId, instance, lastTimestamp, heartbeatMillis) "
+                        + "values (?, ?, ?, 0, ?)", datacenterId, workerId, instance, now);
+                return new Lease(workerId, 0);
+            } catch (DuplicateKeyException e) {
+                // 被其他实例抢先占用，继续尝试下一个
+            }
+        }
+        throw new BusinessException(ErrorCode.SYSTEM_ERROR, "没有可用的雪花 id 工作节点");
+    }
+
+    /**
+     * 续约并记录已发出的最大时间戳
+     *
+     * @return 是否仍持有该节点
+     */
+    public boolean renew(long datacenterId, long workerId, String instance, long lastTimestamp) {
+        return jdbcTemplate.update("update id_worker set heartbeatMillis = ?, lastTimestamp = greatest(lastTimestamp, ?) "
+                        + "where datacenterId = ? and workerId = ? and instance = ?",
+                System.currentTimeMillis(), lastTimestamp, datacenterId, workerId, instance) == 1;
+    }
+
+    /**
+     * 释放节点（保留已发出的最大时间戳，供下一个占用者使用）
+     */
+    public void release(long datacenterId, long workerId, String instance, long lastTimestamp) {
+        jdbcTemplate.update("update id_worker set heartbeatMillis = 0, lastTimestamp = greatest(lastTimestamp, ?) "
+                        + "where datacenterId = ? and workerId = ? and instance = ?",
+                lastTimestamp, datacenterId, workerId, instance);
+    }
+}
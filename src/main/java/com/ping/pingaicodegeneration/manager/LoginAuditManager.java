@@ -0,0 +1,197 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.LoginAuditProperties;
+import com.ping.pingaicodegeneration.mapper.UserLoginLogMapper;
+import com.ping.pingaicodegeneration.model.entity.UserLoginLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 登录审计
+ * <p>
+ * 登录线程只把事件写入无锁环形缓冲区，由单独的写入线程攒批后多行插入 user_login_log：
+ * 积累满一批立即写入，不足一批时按最长间隔写入。缓冲区满时丢弃新事件并计数，不阻塞登录；
+ * 写入失败的批次同样只计数不重试。关闭时写完缓冲区中剩余的事件
+ */
+@Component
+@Slf4j
+public class LoginAuditManager {
+
+    private final LoginAuditProperties loginAuditProperties;
+
+    private final MpscRingBuffer<UserLoginLog> buffer;
+
+    private final LongAdder recordedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder flushedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    @Resource
+    private UserLoginLogMapper userLoginLogMapper;
+
+    private Thread flusher;
+
+    private volatile boolean running = true;
+
+    public LoginAuditManager(LoginAuditProperties loginAuditProperties) {
+        this.loginAuditProperties = loginAuditProperties;
+        this.buffer = new MpscRingBuffer<>(loginAuditProperties.getBufferCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!loginAuditProperties.isEnabled()) {
+            return;
+        }
+        flusher = new Thread(this::runFlusher, "login-audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 记录一次登录
+     *
+     * @param userId      用户 id，登录失败时为 null
+     * @param userAccount 登录账号
+     * @param ip          登录 IP
+     * @param success     是否成功
+     */
+    public void record(Long userId, String userAccount, String ip, boolean success) {
+        if (flusher == null || !running) {
+            return;
+        }
+        UserLoginLog userLoginLog = UserLoginLog.builder()
+                .userId(userId)
+                .userAccount(userAccount)
+                .ip(ip)
+                .success(success ? 1 : 0)
+                .loginTime(LocalDateTime.now())
+                .build();
+        if (!buffer.offer(userLoginLog)) {
+            droppedCount.increment();
+            return;
+        }
+        recordedCount.increment();
+        if (buffer.size() >= loginAuditProperties.getBatchSize()) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void runFlusher() {
+        int batchSize = loginAuditProperties.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(loginAuditProperties.getFlushIntervalMillis());
+        List<UserLoginLog> batch = new ArrayList<>(batchSize);
+        long lastFlushNanos = System.nanoTime();
+        while (running) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && now - lastFlushNanos >= flushIntervalNanos)) {
+                flush(batch);
+                lastFlushNanos = now;
+                continue;
+            }
+            if (batch.isEmpty()) {
+                lastFlushNanos = now;
+            }
+            LockSupport.parkNanos(this, Math.max(flushIntervalNanos - (now - lastFlushNanos), 1_000_000L));
+        }
+        // 关闭时写完剩余事件
+        do {
+            buffer.drainTo(batch, batchSize - batch.size());
+            flush(batch);
+        } while (buffer.size() > 0);
+    }
+
+    /**
+     * 多行插入一批事件并清空
+     */
+    private void flush(List<UserLoginLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            userLoginLogMapper.insertBatch(batch);
+            flushedCount.add(batch.size());
+            batchCount.increment();
+        } catch (Exception e) {
+            failedCount.add(batch.size());
+            log.warn("写入登录审计失败，丢弃 {} 条", batch.size(), e);
+        }
+        batch.clear();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(loginAuditProperties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("登录审计未在 {} ms 内写完，剩余约 {} 条", loginAuditProperties.getShutdownTimeoutMillis(),
+                    buffer.size());
+        }
+    }
+
+    /**
+     * 已进入缓冲区的事件数
+     */
+    public long getRecordedCount() {
+        return recordedCount.sum();
+    }
+
+    /**
+     * 缓冲区满被丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 已写入数据库的事件数
+     */
+    public long getFlushedCount() {
+        return flushedCount.sum();
+    }
+
+    /**
+     * 写入失败被丢弃的事件数
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 批量写入次数
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 缓冲区中等待写入的事件数
+     */
+    public int getBufferSize() {
+        return buffer.size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ping.pingaicodegeneration.manager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * <p>
+ * 生产者通过 CAS 推进写序号占用槽位后写入元素，满时直接返回 false 由调用方丢弃；
+ * 唯一的消费者按读序号顺序取出，遇到已占用但尚未写入的槽位时停止，下次再取
+ *
+ * @param <E> 元素类型
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final int mask;
+
+    /**
+     * 下一个可占用的写序号
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读序号（只由消费者推进）
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("环形缓冲区容量错误：" + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入一个元素
+     *
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long current = tail.get();
+            if (current - head >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                slots.lazySet((int) current & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 取出至多 maxElements 个元素（只能由消费者线程调用）
+     *
+     * @return 取出的数量
+     */
+    public int drainTo(List<? super E> target, int maxElements) {
+        long current = head;
+        int count = 0;
+        while (count < maxElements) {
+            int index = (int) current & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            target.add(element);
+            current++;
+            count++;
+        }
+        head = current;
+        return count;
+    }
+
+    /**
+     * 当前元素数（近似值）
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,322 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.core.util.HexUtil;
+import com.ping.pingaicodegeneration.config.PasswordHashProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码加密管理器
+ * <p>
+ * 加密在独立的定长线程池中执行，避免慢哈希占满 Tomcat 工作线程；队列满或等待超时时立即拒绝
+ */
+@Component
+@Slf4j
+public class PasswordHashManager {
+
+    /**
+     * 盐值，混淆密码（仅用于旧的 md5 格式）
+     */
+    private static final String SALT = "ping";
+
+    private static final String PBKDF2 = "pbkdf2";
+
+    private static final String SEPARATOR = "$";
+
+    private static final int SALT_BYTES = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final PasswordHashProperties passwordHashProperties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordHashManager(PasswordHashProperties passwordHashProperties) {
+        this.passwordHashProperties = passwordHashProperties;
+        int threads = passwordHashProperties.getThreads() > 0
+                ? passwordHashProperties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(passwordHashProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 获取加密后的密码
+     *
+     * @param userPassword 用户密码
+     * @return 加密后的密码
+     */
+    public String hash(String userPassword) {
+        return submit(() -> doHash(userPassword));
+    }
+
+    /**
+     * 校验密码与已存储的加密结果是否一致（按存储值自身的格式校验，切换算法后旧密码仍可校验）
+     *
+     * @param userPassword    用户密码
+     * @param encryptPassword 已存储的加密密码
+     * @return 是否一致
+     */
+    public boolean matches(String userPassword, String encryptPassword) {
+        return submit(() -> doMatches(userPassword, encryptPassword));
+    }
+
+    /**
+     * 已存储的加密密码是否需要按当前配置重新加密（配置为 pbkdf2 时，旧的 md5 格式或迭代次数低于当前配置的 pbkdf2）
+     * <p>
+     * 只能在密码校验通过、拿到明文之后重新加密，由登录流程调用
+     *
+     * @param encryptPassword 已存储的加密密码
+     * @return 是否需要重新加密
+     */
+    public boolean needsRehash(String encryptPassword) {
+        if (encryptPassword == null || !PBKDF2.equalsIgnoreCase(passwordHashProperties.getAlgorithm())) {
+            return false;
+        }
+        if (!encryptPassword.startsWith(PBKDF2 + SEPARATOR)) {
+            return true;
+        }
+        String[] parts = encryptPassword.split("\\" + SEPARATOR);
+        return parts.length != 4 || Integer.parseInt(parts[1]) < passwordHashProperties.getPbkdf2Iterations();
+    }
+
+    /**
+     * 提交到加密线程池并限时等待
+     */
+    private <T> T submit(Callable<T> hashTask) {
+        long submitTime = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startTime = System.nanoTime();
+                queueWaitNanos.add(startTime - submitTime);
+                try {
+                    return hashTask.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startTime);
+                    hashCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "系统繁忙，请稍后重试");
+        }
+        try {
+            return future.get(passwordHashProperties.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "系统繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码加密被中断");
+        } catch (ExecutionException e) {
+            log.error("密码加密失败", e.getCause());
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码加密失败");
+        }
+    }
+
+    /**
+     * 批量加密
+     * <p>
+     * 按 parallelism 切分成若干段提交到加密线程池并行计算，结果与入参顺序一致；
+     * 线程池已满时该段在当前线程计算，不拒绝批量任务
+     *
+     * @param userPasswords 用户密码列表
+     * @param parallelism   最多占用的加密线程数
+     * @return 加密后的密码列表
+     */
+    public List<String> hashAll(List<String> userPasswords, int parallelism) {
+        if (userPasswords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int slices = Math.max(1, Math.min(parallelism, userPasswords.size()));
+        int sliceSize = (userPasswords.size() + slices - 1) / slices;
+        List<Future<List<String>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < userPasswords.size(); from += sliceSize) {
+            List<String> slice = userPasswords.subList(from, Math.min(from + sliceSize, userPasswords.size()));
+            long submitTime = System.nanoTime();
+            FutureTask<List<String>> task = new FutureTask<>(() -> {
+                long startTime = System.nanoTime();
+                queueWaitNanos.add(startTime - submitTime);
+                List<String> hashed = new ArrayList<>(slice.size());
+                try {
+                    for (String userPassword : slice) {
+                        hashed.add(doHash(userPassword));
+                        hashCount.increment();
+                    }
+                } finally {
+                    hashNanos.add(System.nanoTime() - startTime);
+                }
+                return hashed;
+            });
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+            futures.add(task);
+        }
+        List<String> result = new ArrayList<>(userPasswords.size());
+        try {
+            for (Future<List<String>> future : futures) {
+                result.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码加密被中断");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            log.error("密码加密失败", e.getCause());
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码加密失败");
+        }
+        return result;
+    }
+
+    /**
+     * 在当前线程加密，供批量任务等已经自行控制并发的场景使用
+     * <p>
+     * pbkdf2 每次生成随机盐，结果格式为 pbkdf2$迭代次数$盐$摘要；md5 为旧格式，使用固定盐
+     *
+     * @param userPassword 用户密码
+     * @return 加密后的密码
+     */
+    public String doHash(String userPassword) {
+        if (PBKDF2.equalsIgnoreCase(passwordHashProperties.getAlgorithm())) {
+            byte[] salt = new byte[SALT_BYTES];
+            RANDOM.nextBytes(salt);
+            int iterations = passwordHashProperties.getPbkdf2Iterations();
+            return String.join(SEPARATOR, PBKDF2, String.valueOf(iterations), HexUtil.encodeHexStr(salt),
+                    HexUtil.encodeHexStr(pbkdf2(userPassword, salt, iterations,
+                            passwordHashProperties.getPbkdf2KeyLength())));
+        }
+        return md5(userPassword);
+    }
+
+    /**
+     * 在当前线程校验密码
+     *
+     * @param userPassword    用户密码
+     * @param encryptPassword 已存储的加密密码
+     * @return 是否一致
+     */
+    public boolean doMatches(String userPassword, String encryptPassword) {
+        if (encryptPassword == null) {
+            return false;
+        }
+        if (encryptPassword.startsWith(PBKDF2 + SEPARATOR)) {
+            String[] parts = encryptPassword.split("\\" + SEPARATOR);
+            if (parts.length != 4) {
+                return false;
+            }
+            byte[] expected = HexUtil.decodeHex(parts[3]);
+            byte[] actual = pbkdf2(userPassword, HexUtil.decodeHex(parts[2]), Integer.parseInt(parts[1]),
+                    expected.length * 8);
+            return MessageDigest.isEqual(expected, actual);
+        }
+        return MessageDigest.isEqual(md5(userPassword).getBytes(StandardCharsets.UTF_8),
+                encryptPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] pbkdf2(String userPassword, byte[] salt, int iterations, int keyLength) {
+        PBEKeySpec keySpec = new PBEKeySpec(userPassword.toCharArray(), salt, iterations, keyLength);
+        try {
+            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+            return factory.generateSecret(keySpec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 不可用", e);
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+    private static String md5(String userPassword) {
+        return DigestUtils.md5DigestAsHex((SALT + userPassword).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 已完成的加密次数
+     */
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    /**
+     * 因队列满或超时被拒绝的次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 累计排队等待时间（纳秒）
+     */
+    public long getQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    /**
+     * 累计加密计算时间（纳秒）
+     */
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    /**
+     * 加密线程数
+     */
+    public int getThreads() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * 当前排队中的任务数
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ping.pingaicodegeneration.config.RateLimitProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 令牌桶限流管理器
+ * <p>
+ * 每个限流键一个令牌桶，桶状态（剩余令牌 + 上次补充时间）打包在一个 AtomicLong 中，通过 CAS 无锁更新；
+ * 桶保存在 Caffeine 中（内部分段的并发哈希表），闲置的桶过期回收，总数有上限，内存占用有界
+ */
+@Component
+public class RateLimitManager {
+
+    /**
+     * 令牌以千分之一为单位存储，支持每毫秒补充不足一个令牌的速率
+     */
+    private static final long MILLI_TOKENS_PER_TOKEN = 1000;
+
+    private static final int TIME_BITS = 42;
+
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    /**
+     * 令牌位数（高 22 位），桶容量上限约 4194 个令牌
+     */
+    private static final long MAX_MILLI_TOKENS = (1L << (Long.SIZE - TIME_BITS)) - 1;
+
+    /**
+     * 计时起点，桶内只保存相对时间（42 位毫秒约 139 年）
+     */
+    private final long startNanos = System.nanoTime();
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimitManager(RateLimitProperties rateLimitProperties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.getMaximumKeys())
+                .expireAfterAccess(rateLimitProperties.getIdleExpireSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key           限流键
+     * @param permits       每个周期允许的请求数（桶容量）
+     * @param periodSeconds 周期（秒）
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(String key, int permits, int periodSeconds) {
+        long capacity = Math.min(permits * MILLI_TOKENS_PER_TOKEN, MAX_MILLI_TOKENS);
+        long periodMillis = TimeUnit.SECONDS.toMillis(periodSeconds);
+        long now = nowMillis();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(pack(capacity, now)));
+        while (true) {
+            long state = bucket.get();
+            long tokens = state >>> TIME_BITS;
+            long lastRefill = state & TIME_MASK;
+            long elapsed = Math.max(0, now - lastRefill);
+            long refill = elapsed * capacity / periodMillis;
+            // 不足千分之一个令牌时不推进补充时间，避免高频请求把补充量一直舍掉
+            long available = Math.min(capacity, tokens + refill);
+            long refillTime = refill > 0 ? now : lastRefill;
+            if (available < MILLI_TOKENS_PER_TOKEN) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, pack(available - MILLI_TOKENS_PER_TOKEN, refillTime))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 当前令牌桶数（近似值）
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static long pack(long milliTokens, long timeMillis) {
+        return (milliTokens << TIME_BITS) | (timeMillis & TIME_MASK);
+    }
+}
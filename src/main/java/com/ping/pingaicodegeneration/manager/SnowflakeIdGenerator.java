@@ -0,0 +1,235 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 无锁雪花 id 生成器
+ * <p>
+ * id 结构：时间戳 | 数据中心 id | 工作节点 id | 序列号，各段位数可配置。
+ * 去掉节点位后的“时间戳 + 序列号”保存在一个 AtomicLong 中，发号即一次 CAS；
+ * 平台线程每次预占一段连续序列号放在线程本地，同一毫秒内直接从本地取号（虚拟线程生命周期短，不预占）。
+ * <p>
+ * 时钟回拨时沿用上次的时间戳继续发号，序列号用完再借用下一毫秒；
+ * 逻辑时间最多领先系统时间 maxAheadMillis，超出后等待系统时间追上，等待超时抛出异常
+ */
+public class SnowflakeIdGenerator {
+
+    private final int sequenceBits;
+
+    private final int timestampShift;
+
+    private final long sequenceMask;
+
+    private final long maxTimestamp;
+
+    /**
+     * 数据中心 id 与工作节点 id 移位后的值
+     */
+    private final long nodeBits;
+
+    private final long datacenterId;
+
+    private final long workerId;
+
+    private final long epochMillis;
+
+    private final int prefetchSize;
+
+    private final long maxAheadMillis;
+
+    private final LongSupplier clock;
+
+    /**
+     * 最近一次发出的（相对时间戳 << sequenceBits | 序列号）
+     */
+    private final AtomicLong last;
+
+    /**
+     * 线程本地预占的序列号区间：[下一个, 结束)，以及区间所在的相对时间戳
+     */
+    private final ThreadLocal<long[]> prefetched = ThreadLocal.withInitial(() -> new long[3]);
+
+    private final LongAdder generatedCount = new LongAdder();
+
+    private final LongAdder casRetryCount = new LongAdder();
+
+    private final LongAdder borrowCount = new LongAdder();
+
+    private final LongAdder waitCount = new LongAdder();
+
+    /**
+     * @param datacenterBits 数据中心 id 位数
+     * @param workerBits     工作节点 id 位数
+     * @param sequenceBits   序列号位数
+     * @param datacenterId   数据中心 id
+     * @param workerId       工作节点 id
+     * @param epochMillis    起始时间（毫秒）
+     * @param lastTimestamp  上次运行发出的最大时间戳（毫秒），新 id 的时间戳不小于它，没有时传 0
+     * @param prefetchSize   每个线程一次预占的 id 数，小于等于 1 时不预占
+     * @param maxAheadMillis 时钟回拨或借用时，逻辑时间最多领先系统时间的毫秒数
+     * @param clock          时钟（毫秒）
+     */
+    public SnowflakeIdGenerator(int datacenterBits, int workerBits, int sequenceBits, long datacenterId, long workerId,
+                                long epochMillis, long lastTimestamp, int prefetchSize, long maxAheadMillis,
+                                LongSupplier clock) {
+        if (datacenterBits < 0 || workerBits < 0 || sequenceBits < 1 || datacenterBits + workerBits + sequenceBits > 24) {
+            throw new IllegalArgumentException("雪花 id 位数配置错误：数据中心、工作节点、序列号合计不能超过 24 位");
+        }
+        if (datacenterId < 0 || datacenterId >= (1L << datacenterBits)) {
+            throw new IllegalArgumentException("数据中心 id 超出范围：" + datacenterId);
+        }
+        if (workerId < 0 || workerId >= (1L << workerBits)) {
+            throw new IllegalArgumentException("工作节点 id 超出范围：" + workerId);
+        }
+        this.sequenceBits = sequenceBits;
+        this.timestampShift = sequenceBits + workerBits + datacenterBits;
+        this.sequenceMask = (1L << sequenceBits) - 1;
+        this.maxTimestamp = (1L << (Long.SIZE - 1 - timestampShift)) - 1;
+        this.nodeBits = (datacenterId << (sequenceBits + workerBits)) | (workerId << sequenceBits);
+        this.datacenterId = datacenterId;
+        this.workerId = workerId;
+        this.epochMillis = epochMillis;
+        this.prefetchSize = Math.max(1, prefetchSize);
+        this.maxAheadMillis = maxAheadMillis;
+        this.clock = clock;
+        // 从上次的时间戳之后开始，重启时即使时钟回拨也不会和重启前的 id 重复
+        long startTimestamp = Math.max(0, lastTimestamp - epochMillis);
+        this.last = new AtomicLong((startTimestamp << sequenceBits) | sequenceMask);
+    }
+
+    /**
+     * 生成下一个 id
+     */
+    public long nextId() {
+        if (prefetchSize <= 1 || Thread.currentThread().isVirtual()) {
+            return compose(reserve(1)[0]);
+        }
+        long[] buffer = prefetched.get();
+        // 只在区间所在的毫秒内使用预占的号，避免线程闲置后发出明显偏旧的 id
+        if (buffer[0] < buffer[1] && buffer[2] >= currentTimestamp()) {
+            return compose(buffer[0]++);
+        }
+        long[] range = reserve(prefetchSize);
+        buffer[0] = range[0] + 1;
+        buffer[1] = range[0] + range[1];
+        buffer[2] = range[0] >>> sequenceBits;
+        return compose(range[0]);
+    }
+
+    /**
+     * 预占一段同一毫秒内的连续序列号
+     *
+     * @param count 期望数量
+     * @return [起始值, 实际数量]
+     */
+    private long[] reserve(int count) {
+        long waitStartNanos = 0;
+        while (true) {
+            long now = currentTimestamp();
+            long prev = last.get();
+            long prevTimestamp = prev >>> sequenceBits;
+            long prevSequence = prev & sequenceMask;
+            long timestamp;
+            long sequence;
+            if (now > prevTimestamp) {
+                timestamp = now;
+                sequence = 0;
+            } else if (prevSequence < sequenceMask) {
+                // 同一毫秒，或时钟回拨后沿用上次的时间戳
+                timestamp = prevTimestamp;
+                sequence = prevSequence + 1;
+            } else if (prevTimestamp + 1 - now <= maxAheadMillis) {
+                // 序列号用完，借用下一毫秒
+                timestamp = prevTimestamp + 1;
+                sequence = 0;
+                borrowCount.increment();
+            } else {
+                // 逻辑时间领先过多，等待系统时间追上
+                if (waitStartNanos == 0) {
+                    waitStartNanos = System.nanoTime();
+                    waitCount.increment();
+                } else if (System.nanoTime() - waitStartNanos > TimeUnit.MILLISECONDS.toNanos(maxAheadMillis)) {
+                    throw new BusinessException(ErrorCode.SYSTEM_ERROR, "系统时钟回拨，暂时无法生成 id");
+                }
+                sleepQuietly();
+                continue;
+            }
+            if (timestamp > maxTimestamp) {
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "雪花 id 时间戳已用尽");
+            }
+            long reserved = Math.min(count, sequenceMask - sequence + 1);
+            long next = (timestamp << sequenceBits) | (sequence + reserved - 1);
+            if (last.compareAndSet(prev, next)) {
+                generatedCount.add(reserved);
+                return new long[]{(timestamp << sequenceBits) | sequence, reserved};
+            }
+            casRetryCount.increment();
+        }
+    }
+
+    private long compose(long state) {
+        return ((state >>> sequenceBits) << timestampShift) | nodeBits | (state & sequenceMask);
+    }
+
+    private long currentTimestamp() {
+        return clock.getAsLong() - epochMillis;
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "生成 id 被中断");
+        }
+    }
+
+    /**
+     * 已发出的最大时间戳（毫秒），用于持久化，重启后从该时间之后继续
+     */
+    public long getLastTimestamp() {
+        return epochMillis + (last.get() >>> sequenceBits);
+    }
+
+    public long getDatacenterId() {
+        return datacenterId;
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * 已分配（含线程本地预占）的 id 数
+     */
+    public long getGeneratedCount() {
+        return generatedCount.sum();
+    }
+
+    /**
+     * CAS 失败重试次数（反映并发争用程度）
+     */
+    public long getCasRetryCount() {
+        return casRetryCount.sum();
+    }
+
+    /**
+     * 序列号用完借用下一毫秒的次数
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * 因时钟回拨等待的次数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+}
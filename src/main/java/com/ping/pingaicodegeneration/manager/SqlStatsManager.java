@@ -0,0 +1,241 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ping.pingaicodegeneration.config.SqlMonitorProperties;
+import com.ping.pingaicodegeneration.model.vo.SqlStatsVO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 执行统计
+ * <p>
+ * 把 SQL 归一化为指纹（字面量、IN / OR 列表长度、多行 VALUES 不同的 SQL 视为同一类），按指纹累计次数、失败次数、耗时直方图与行数
+ */
+@Component
+public class SqlStatsManager {
+
+    /**
+     * 超出指纹上限后统一归入的指纹
+     */
+    public static final String OTHER_FINGERPRINT = "other";
+
+    /**
+     * 直方图桶上界（毫秒），最后一个桶不设上界
+     */
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w`.$])-?\\d+(?:\\.\\d+)?");
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\+\\)(?:\\s*,\\s*\\(\\?\\+\\))+");
+
+    private static final Pattern OR_EQUALS_LIST = Pattern.compile(
+            "(`?[\\w.]+`?\\s*=\\s*\\?)(?:\\s+OR\\s+\\1)+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlMonitorProperties sqlMonitorProperties;
+
+    private final Map<String, Stats> statsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 原始 SQL 到指纹的缓存，同一形态的查询生成的 SQL 文本相同，不必每次重新归一化
+     */
+    private final Cache<String, String> fingerprintCache = Caffeine.newBuilder()
+            .maximumSize(2000)
+            .build();
+
+    /**
+     * 各指纹最近一次输出执行计划的时间
+     */
+    private final Map<String, Long> lastExplainMillis = new ConcurrentHashMap<>();
+
+    public SqlStatsManager(SqlMonitorProperties sqlMonitorProperties) {
+        this.sqlMonitorProperties = sqlMonitorProperties;
+    }
+
+    /**
+     * 计算 SQL 指纹
+     *
+     * @param sql SQL
+     * @return 指纹
+     */
+    public String fingerprint(String sql) {
+        return fingerprintCache.get(sql, SqlStatsManager::normalize);
+    }
+
+    /**
+     * 归一化 SQL：字面量替换为 ?，占位符列表与多行 VALUES 折叠，空白合并
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?+)");
+        normalized = ROW_LIST.matcher(normalized).replaceAll("(?+), ...");
+        normalized = OR_EQUALS_LIST.matcher(normalized).replaceAll("$1 OR ...");
+        return normalized;
+    }
+
+    /**
+     * 记录一次执行
+     *
+     * @param fingerprint 指纹
+     * @param nanos       耗时（纳秒）
+     * @param rows        返回或影响的行数，未知或执行失败时为 -1
+     * @param failed      是否执行失败
+     */
+    public void record(String fingerprint, long nanos, long rows, boolean failed) {
+        Stats stats = statsMap.get(fingerprint);
+        if (stats == null) {
+            String key = statsMap.size() >= sqlMonitorProperties.getMaxFingerprints() ? OTHER_FINGERPRINT : fingerprint;
+            stats = statsMap.computeIfAbsent(key, k -> new Stats());
+        }
+        stats.record(nanos, rows, failed);
+    }
+
+    /**
+     * 是否需要为该指纹输出执行计划（按间隔限流）
+     *
+     * @param fingerprint 指纹
+     * @return 是否需要
+     */
+    public boolean tryAcquireExplain(String fingerprint) {
+        long now = System.currentTimeMillis();
+        long intervalMillis = TimeUnit.SECONDS.toMillis(sqlMonitorProperties.getExplainIntervalSeconds());
+        boolean[] acquired = new boolean[1];
+        lastExplainMillis.compute(fingerprint, (key, last) -> {
+            if (last == null || now - last >= intervalMillis) {
+                acquired[0] = true;
+                return now;
+            }
+            return last;
+        });
+        return acquired[0];
+    }
+
+    /**
+     * 按总耗时倒序取前 N 类 SQL
+     *
+     * @param limit 数量
+     * @return 统计信息
+     */
+    public List<SqlStatsVO> top(int limit) {
+        List<SqlStatsVO> result = new ArrayList<>(statsMap.size());
+        statsMap.forEach((fingerprint, stats) -> result.add(stats.toVO(fingerprint)));
+        result.sort(Comparator.comparingDouble(SqlStatsVO::getTotalMillis).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        statsMap.clear();
+        lastExplainMillis.clear();
+    }
+
+    /**
+     * 单个指纹的统计
+     */
+    private static class Stats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder failedCount = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder rows = new LongAdder();
+
+        private final AtomicLong lastExecuteMillis = new AtomicLong();
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+
+        Stats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, long rowCount, boolean failed) {
+            count.increment();
+            if (failed) {
+                failedCount.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            lastExecuteMillis.set(System.currentTimeMillis());
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        SqlStatsVO toVO(String fingerprint) {
+            long executeCount = count.sum();
+            long[] bucketCounts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                bucketCounts[i] = buckets[i].sum();
+            }
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < bucketCounts.length; i++) {
+                String label = i < BUCKET_BOUNDS_MILLIS.length ? "<" + BUCKET_BOUNDS_MILLIS[i] + "ms"
+                        : ">=" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms";
+                histogram.put(label, bucketCounts[i]);
+            }
+            SqlStatsVO sqlStatsVO = new SqlStatsVO();
+            sqlStatsVO.setFingerprint(fingerprint);
+            sqlStatsVO.setCount(executeCount);
+            sqlStatsVO.setFailedCount(failedCount.sum());
+            sqlStatsVO.setTotalMillis(totalNanos.sum() / 1e6);
+            sqlStatsVO.setAvgMillis(executeCount == 0 ? 0 : totalNanos.sum() / 1e6 / executeCount);
+            sqlStatsVO.setMaxMillis(maxNanos.get() / 1e6);
+            sqlStatsVO.setP99UpperBoundMillis(percentileUpperBound(bucketCounts, executeCount, 0.99));
+            sqlStatsVO.setRows(rows.sum());
+            sqlStatsVO.setLastExecuteTime(lastExecuteMillis.get());
+            sqlStatsVO.setHistogram(histogram);
+            return sqlStatsVO;
+        }
+
+        /**
+         * 分位数所在桶的上界，落在最后一个桶时返回 null
+         */
+        private static Long percentileUpperBound(long[] bucketCounts, long total, double percentile) {
+            if (total == 0) {
+                return 0L;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                cumulative += bucketCounts[i];
+                if (cumulative >= threshold) {
+                    return BUCKET_BOUNDS_MILLIS[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.mybatisflex.core.logicdelete.LogicDeleteManager;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.ping.pingaicodegeneration.config.UserAccountBloomProperties;
+import com.ping.pingaicodegeneration.mapper.UserMapper;
+import com.ping.pingaicodegeneration.model.entity.User;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户账号布隆过滤器
+ * <p>
+ * 注册时判断账号“一定不存在”则无需查询数据库。过滤器只会漏记其他节点新写入的账号，
+ * 此时由 uk_userAccount 唯一索引兜底，因此不影响正确性。
+ */
+@Component
+@Slf4j
+public class UserAccountBloomFilter {
+
+    private final UserAccountBloomProperties userAccountBloomProperties;
+
+    private final AtomicLongArray bits;
+
+    private final long bitSize;
+
+    private final int hashCount;
+
+    private final LongAdder definitelyNewCount = new LongAdder();
+
+    private final LongAdder maybeExistsCount = new LongAdder();
+
+    /**
+     * 已有账号是否加载完成，加载完成前一律视为“可能存在”
+     */
+    private volatile boolean ready = false;
+
+    @Resource
+    private UserMapper userMapper;
+
+    public UserAccountBloomFilter(UserAccountBloomProperties userAccountBloomProperties) {
+        this.userAccountBloomProperties = userAccountBloomProperties;
+        long expected = Math.max(1, userAccountBloomProperties.getExpectedInsertions());
+        double fpp = userAccountBloomProperties.getFalsePositiveRate();
+        // m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+        long optimalBits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expected * Math.log(2)));
+    }
+
+    /**
+     * 账号是否可能已存在
+     *
+     * @param userAccount 账号
+     * @return false 表示一定不存在
+     */
+    public boolean mightContain(String userAccount) {
+        if (!ready || !userAccountBloomProperties.isEnabled()) {
+            return true;
+        }
+        long[] hash = hash(userAccount);
+        long combined = hash[0];
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                definitelyNewCount.increment();
+                return false;
+            }
+            combined += hash[1];
+        }
+        maybeExistsCount.increment();
+        return true;
+    }
+
+    /**
+     * 记录一个已存在的账号
+     *
+     * @param userAccount 账号
+     */
+    public void put(String userAccount) {
+        if (userAccount == null) {
+            return;
+        }
+        long[] hash = hash(userAccount);
+        long combined = hash[0];
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitSize;
+            int wordIndex = (int) (index >>> 6);
+            long mask = 1L << index;
+            long word;
+            do {
+                word = bits.get(wordIndex);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(wordIndex, word, word | mask));
+            combined += hash[1];
+        }
+    }
+
+    /**
+     * 判定为一定不存在（免查询）的次数
+     */
+    public long getDefinitelyNewCount() {
+        return definitelyNewCount.sum();
+    }
+
+    /**
+     * 判定为可能存在的次数
+     */
+    public long getMaybeExistsCount() {
+        return maybeExistsCount.sum();
+    }
+
+    /**
+     * 启动后在后台加载已有账号（包含逻辑删除的账号，它们同样占用唯一索引）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!userAccountBloomProperties.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(this::loadExistingAccounts, "user-account-bloom-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadExistingAccounts() {
+        long start = System.currentTimeMillis();
+        int batchSize = userAccountBloomProperties.getLoadBatchSize();
+        long lastId = Long.MIN_VALUE;
+        long total = 0;
+        try {
+            while (true) {
+                QueryWrapper queryWrapper = QueryWrapper.create()
+                        .select("id", "userAccount")
+                        .gt("id", lastId)
+                        .orderBy("id", true)
+                        .limit(batchSize);
+                List<User> userList = LogicDeleteManager.execWithoutLogicDelete(
+                        () -> userMapper.selectListByQuery(queryWrapper));
+                for (User user : userList) {
+                    put(user.getUserAccount());
+                }
+                total += userList.size();
+                if (userList.size() < batchSize) {
+                    break;
+                }
+                lastId = userList.get(userList.size() - 1).getId();
+            }
+            ready = true;
+            if (total > userAccountBloomProperties.getExpectedInsertions()) {
+                log.warn("账号数 {} 超过布隆过滤器预计容量 {}，误判率将上升", total,
+                        userAccountBloomProperties.getExpectedInsertions());
+            }
+            log.info("用户账号布隆过滤器加载完成，账号数 {}，耗时 {} ms", total, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("用户账号布隆过滤器加载失败，注册时将直接查询数据库", e);
+        }
+    }
+
+    /**
+     * 唯一索引按 utf8mb4_unicode_ci 比较，大小写不同的账号同样冲突，统一转小写后再哈希
+     */
+    private static long[] hash(String userAccount) {
+        return MurmurHash.hash128(userAccount.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+    }
+}
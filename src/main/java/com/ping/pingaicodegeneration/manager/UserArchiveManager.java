@@ -0,0 +1,212 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.core.util.StrUtil;
+import com.mybatisflex.core.row.Db;
+import com.ping.pingaicodegeneration.config.UserArchiveProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.exception.ThrowUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已删除用户归档
+ * <p>
+ * 逻辑删除超过保留期的用户按 id 顺序分批移入 user_archive 表，每批一个事务：
+ * 锁定检查点 → 复制到归档表 → 从用户表删除 → 推进检查点。
+ * 检查点保存在 archive_checkpoint 表，中断或达到单次批数上限后，下次从检查点继续；
+ * 一轮扫描到末尾后检查点归零，下一轮重新从头查找新过期的用户。
+ * 检查点行锁同时保证多实例部署时同一时刻只有一个实例在归档
+ */
+@Slf4j
+@Component
+public class UserArchiveManager {
+
+    private static final String CHECKPOINT_NAME = "user";
+
+    /**
+     * user 与 user_archive 共有的列
+     */
+    private static final String COLUMNS = "id, userAccount, userPassword, userName, userAvatar, userProfile, userRole, "
+            + "vipExpireTime, vipCode, vipNumber, shareCode, inviteUser, editTime, createTime, updateTime, isDelete";
+
+    /**
+     * 恢复时的取值：重新置为未删除，更新时间取当前时间
+     */
+    private static final String RESTORE_COLUMNS = "id, userAccount, userPassword, userName, userAvatar, userProfile, "
+            + "userRole, vipExpireTime, vipCode, vipNumber, shareCode, inviteUser, editTime, createTime, now(), 0";
+
+    @Resource
+    private UserArchiveProperties userArchiveProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder archivedCount = new LongAdder();
+
+    private final LongAdder restoredCount = new LongAdder();
+
+    /**
+     * 归档线程：批次之间会休眠，单次可能运行数十秒，不占用 Spring 共享的调度线程
+     */
+    private ScheduledExecutorService archiveExecutor;
+
+    /**
+     * 启动定时归档（启动后延迟一个间隔再执行，不影响启动）
+     */
+    @PostConstruct
+    public void start() {
+        if (!userArchiveProperties.isEnabled()) {
+            return;
+        }
+        archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = userArchiveProperties.getIntervalSeconds();
+        archiveExecutor.scheduleWithFixedDelay(this::scheduledArchive, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (archiveExecutor != null) {
+            // 中断批次间的休眠，未完成的部分下次从检查点继续
+            archiveExecutor.shutdownNow();
+        }
+    }
+
+    private void scheduledArchive() {
+        try {
+            archive();
+        } catch (Exception e) {
+            log.warn("归档已删除用户失败，下次从检查点继续", e);
+        }
+    }
+
+    /**
+     * 执行一次归档
+     *
+     * @return 本次归档的用户数
+     */
+    public long archive() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(userArchiveProperties.getRetentionDays());
+            int batchSize = userArchiveProperties.getBatchSize();
+            // 确保检查点行存在：锁定不存在的行只会加间隙锁，多个实例可以同时进入归档
+            Db.insertBySql("insert ignore into archive_checkpoint (name) values (?)", CHECKPOINT_NAME);
+            long total = 0;
+            for (int i = 0; i < userArchiveProperties.getMaxBatchesPerRun(); i++) {
+                if (i > 0) {
+                    TimeUnit.MILLISECONDS.sleep(userArchiveProperties.getBatchIntervalMillis());
+                }
+                BatchResult result = Db.txWithResult(() -> archiveBatch(cutoff, batchSize));
+                archivedCount.add(result.archived());
+                total += result.archived();
+                if (result.scanned() < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("归档已删除用户 {} 个，耗时 {} ms", total, System.currentTimeMillis() - start);
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 归档一批（在事务中执行）
+     *
+     * @return 本批结果，选中数小于批大小表示本轮已扫描到末尾
+     */
+    private BatchResult archiveBatch(LocalDateTime cutoff, int batchSize) {
+        Object checkpoint = Db.selectObject("select lastId from archive_checkpoint where name = ? for update",
+                CHECKPOINT_NAME);
+        long lastId = checkpoint == null ? 0 : ((Number) checkpoint).longValue();
+        List<Object> ids = Db.selectObjectList("select id from `user` where id > ? and isDelete = 1 "
+                + "and updateTime < ? order by id limit ?", lastId, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            saveCheckpoint(0);
+            return new BatchResult(0, 0);
+        }
+        String placeholders = StrUtil.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        int inserted = Db.insertBySql("insert into user_archive (" + COLUMNS + ", archiveTime) select " + COLUMNS
+                + ", now() from `user` where isDelete = 1 and id in (" + placeholders + ")", args);
+        int deleted = Db.deleteBySql("delete from `user` where isDelete = 1 and id in (" + placeholders + ")", args);
+        // 两步之间有用户被恢复或改动时回滚整批，下次重试
+        ThrowUtils.throwIf(inserted != deleted, ErrorCode.SYSTEM_ERROR, "归档用户数不一致");
+        // 本轮扫描到末尾时检查点归零
+        saveCheckpoint(ids.size() < batchSize ? 0 : ((Number) ids.get(ids.size() - 1)).longValue());
+        return new BatchResult(ids.size(), deleted);
+    }
+
+    /**
+     * @param scanned  选中的用户数
+     * @param archived 实际归档的用户数（选中后被恢复的不计入）
+     */
+    private record BatchResult(int scanned, int archived) {
+    }
+
+    private void saveCheckpoint(long lastId) {
+        Db.insertBySql("insert into archive_checkpoint (name, lastId, updateTime) values (?, ?, now()) "
+                + "on duplicate key update lastId = values(lastId), updateTime = values(updateTime)",
+                CHECKPOINT_NAME, lastId);
+    }
+
+    /**
+     * 将归档的用户恢复到用户表（恢复为未删除）
+     *
+     * @param id 用户 id
+     */
+    public void restore(long id) {
+        Db.txWithResult(() -> {
+            String userAccount = (String) Db.selectObject("select userAccount from user_archive where id = ?", id);
+            ThrowUtils.throwIf(userAccount == null, ErrorCode.NOT_FOUND_ERROR, "归档中不存在该用户");
+            // 归档后账号已释放，可能已被重新注册
+            Object exists = Db.selectObject("select id from `user` where userAccount = ? limit 1", userAccount);
+            if (exists != null) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "账号已被占用，无法恢复");
+            }
+            Db.insertBySql("insert into `user` (" + COLUMNS + ") select " + RESTORE_COLUMNS
+                    + " from user_archive where id = ?", id);
+            Db.deleteBySql("delete from user_archive where id = ?", id);
+            return true;
+        });
+        restoredCount.increment();
+    }
+
+    /**
+     * 已归档的用户数
+     */
+    public long getArchivedCount() {
+        return archivedCount.sum();
+    }
+
+    /**
+     * 已恢复的用户数
+     */
+    public long getRestoredCount() {
+        return restoredCount.sum();
+    }
+}
@@ -0,0 +1,186 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.UserBatchLoaderProperties;
+import com.ping.pingaicodegeneration.datasource.DataSourceRouteContext;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.mapper.UserMapper;
+import com.ping.pingaicodegeneration.model.entity.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 用户批量加载器（类似 DataLoader 的请求合并）
+ * <p>
+ * 同一节点上短时间内的单 id 查询会合并为一次 IN 查询：窗口到期或攒够一批时统一发出，相同 id 共享同一个结果；
+ * 合并查询走从库，固定读主库的请求不参与合并
+ */
+@Component
+@Slf4j
+public class UserBatchLoader {
+
+    private final UserBatchLoaderProperties userBatchLoaderProperties;
+
+    private final ScheduledExecutorService executor;
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前窗口内等待查询的 id
+     */
+    private Map<Long, CompletableFuture<User>> pending = new LinkedHashMap<>();
+
+    @Resource
+    private UserMapper userMapper;
+
+    public UserBatchLoader(UserBatchLoaderProperties userBatchLoaderProperties) {
+        this.userBatchLoaderProperties = userBatchLoaderProperties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(
+                userBatchLoaderProperties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        this.executor = scheduledExecutor;
+    }
+
+    /**
+     * 异步加载单个用户
+     *
+     * @param userId 用户 id
+     * @return 用户，不存在时结果为 null
+     */
+    public CompletableFuture<User> load(Long userId) {
+        if (DataSourceRouteContext.isPinnedToPrimary()) {
+            // 当前请求 / 会话刚写过主库：加载线程拿不到请求上下文，只能在调用线程读主库，保证写后读
+            return CompletableFuture.completedFuture(userMapper.selectOneById(userId));
+        }
+        if (!userBatchLoaderProperties.isEnabled()) {
+            return loadDirectly(userId);
+        }
+        Map<Long, CompletableFuture<User>> fullBatch = null;
+        CompletableFuture<User> future;
+        boolean rejected = false;
+        synchronized (lock) {
+            future = pending.get(userId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(userId, future);
+                if (pending.size() == 1) {
+                    // 窗口内第一个请求负责定时发出本批
+                    try {
+                        executor.schedule(this::flush, userBatchLoaderProperties.getMaxWaitMillis(),
+                                TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // 已关闭：撤回本次登记，避免后续相同 id 的请求一直等待
+                        pending.remove(userId);
+                        rejected = true;
+                    }
+                }
+                if (!rejected && pending.size() >= userBatchLoaderProperties.getMaxBatchSize()) {
+                    fullBatch = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        }
+        if (rejected) {
+            return loadDirectly(userId);
+        }
+        if (fullBatch != null) {
+            Map<Long, CompletableFuture<User>> batch = fullBatch;
+            try {
+                executor.execute(() -> dispatch(batch));
+            } catch (RejectedExecutionException e) {
+                dispatch(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 不合并，直接在调用线程查询
+     */
+    private CompletableFuture<User> loadDirectly(Long userId) {
+        return CompletableFuture.completedFuture(
+                DataSourceRouteContext.callOnReplica(() -> userMapper.selectOneById(userId)));
+    }
+
+    /**
+     * 同步加载单个用户
+     *
+     * @param userId 用户 id
+     * @return 用户，不存在返回 null
+     */
+    public User get(Long userId) {
+        try {
+            // 每个调用方各自限时等待，不影响同一批中的其他请求
+            return load(userId).get(userBatchLoaderProperties.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "查询用户失败");
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "查询用户超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "查询用户被中断");
+        }
+    }
+
+    /**
+     * 发出当前窗口内的请求
+     */
+    private void flush() {
+        Map<Long, CompletableFuture<User>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * 执行一次 IN 查询并回填结果
+     */
+    private void dispatch(Map<Long, CompletableFuture<User>> batch) {
+        try {
+            // 加载线程不经过 Spring 代理，手动进入只读范围
+            List<User> userList = DataSourceRouteContext.callOnReplica(() -> userMapper.selectListByIds(batch.keySet()));
+            Map<Long, User> userMap = new HashMap<>(userList.size() * 2);
+            for (User user : userList) {
+                userMap.put(user.getId(), user);
+            }
+            batch.forEach((userId, future) -> future.complete(userMap.get(userId)));
+        } catch (Exception e) {
+            log.error("批量查询用户失败, size = {}", batch.size(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ping.pingaicodegeneration.config.UserCacheProperties;
+import com.ping.pingaicodegeneration.model.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 用户本地缓存（按 id 缓存用户记录）
+ * <p>
+ * 仅缓存本节点读到的用户，修改、删除用户时需要调用 {@link #invalidate(Long)} 失效
+ */
+@Component
+public class UserCacheManager {
+
+    private final Cache<Long, User> userCache;
+
+    public UserCacheManager(UserCacheProperties userCacheProperties) {
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(userCacheProperties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取用户，缓存未命中时通过 loader 加载（loader 返回 null 时不缓存）
+     *
+     * @param userId 用户 id
+     * @param loader 加载函数
+     * @return 用户，不存在返回 null
+     */
+    public User get(Long userId, Function<Long, User> loader) {
+        return userCache.get(userId, loader);
+    }
+
+    /**
+     * 写入刚从数据库读到的用户
+     *
+     * @param user 用户
+     */
+    public void put(User user) {
+        userCache.put(user.getId(), user);
+    }
+
+    /**
+     * 失效单个用户缓存
+     *
+     * @param userId 用户 id
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userCache.invalidate(userId);
+    }
+
+    /**
+     * 当前缓存条数（近似值）
+     */
+    public long size() {
+        return userCache.estimatedSize();
+    }
+
+    /**
+     * 命中 / 未命中等统计信息
+     */
+    public CacheStats stats() {
+        return userCache.stats();
+    }
+}
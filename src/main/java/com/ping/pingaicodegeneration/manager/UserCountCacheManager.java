@@ -0,0 +1,124 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ping.pingaicodegeneration.config.UserCountCacheProperties;
+import com.ping.pingaicodegeneration.model.dto.UserQueryRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * 用户分页总数缓存
+ * <p>
+ * 以过滤条件的规范化指纹为键缓存 COUNT 结果，本节点的用户写操作会清空整个缓存；
+ * 其他节点的写入只能等缓存过期，因此命中缓存的总数只能作为近似值返回
+ */
+@Component
+public class UserCountCacheManager {
+
+    /**
+     * 表统计信息估算值使用的缓存键
+     */
+    private static final String APPROXIMATE_KEY = "~approximate";
+
+    private final Cache<String, Long> countCache;
+
+    public UserCountCacheManager(UserCountCacheProperties userCountCacheProperties) {
+        this.countCache = Caffeine.newBuilder()
+                .maximumSize(userCountCacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(userCountCacheProperties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 计算过滤条件的指纹（不包含分页、排序参数，null 与空串视为不同条件）
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 指纹
+     */
+    public static String fingerprint(UserQueryRequest userQueryRequest) {
+        return JSONUtil.toJsonStr(Arrays.asList(
+                userQueryRequest.getId(),
+                userQueryRequest.getUserRole(),
+                userQueryRequest.getUserAccount(),
+                userQueryRequest.getUserName(),
+                userQueryRequest.getUserProfile(),
+                userQueryRequest.getMatchMode()));
+    }
+
+    /**
+     * 是否没有任何过滤条件
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 是否无过滤
+     */
+    public static boolean isUnfiltered(UserQueryRequest userQueryRequest) {
+        return userQueryRequest.getId() == null
+                && userQueryRequest.getUserRole() == null
+                && userQueryRequest.getUserAccount() == null
+                && userQueryRequest.getUserName() == null
+                && userQueryRequest.getUserProfile() == null;
+    }
+
+    /**
+     * 计数结果
+     *
+     * @param count  总数
+     * @param loaded 是否为本次调用从数据库查询（否则来自缓存，可能未包含其他节点的写入）
+     */
+    public record CountResult(long count, boolean loaded) {
+    }
+
+    /**
+     * 获取总数，未命中时通过 loader 查询
+     *
+     * @param userQueryRequest 用户查询请求
+     * @param loader           总数查询函数
+     * @return 总数及其来源
+     */
+    public CountResult getCount(UserQueryRequest userQueryRequest, Function<String, Long> loader) {
+        boolean[] loaded = new boolean[1];
+        long count = countCache.get(fingerprint(userQueryRequest), key -> {
+            loaded[0] = true;
+            return loader.apply(key);
+        });
+        return new CountResult(count, loaded[0]);
+    }
+
+    /**
+     * 获取基于表统计信息的估算总数，未命中时通过 loader 查询
+     *
+     * @param loader 估算值查询函数
+     * @return 估算总数，统计信息不可用时返回 null
+     */
+    public Long getApproximateCount(Function<String, Long> loader) {
+        return countCache.get(APPROXIMATE_KEY, loader);
+    }
+
+    /**
+     * 用户数据发生变化，清空所有总数缓存
+     */
+    public void invalidateAll() {
+        countCache.invalidateAll();
+    }
+
+    /**
+     * 当前缓存条数（近似值）
+     */
+    public long size() {
+        return countCache.estimatedSize();
+    }
+
+    /**
+     * 命中 / 未命中等统计信息
+     */
+    public CacheStats stats() {
+        return countCache.stats();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.core.date.DatePattern;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ping.pingaicodegeneration.model.enums.UserExportFormatEnum;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 用户导出写出器，逐行写出，不缓存已写出的数据
+ */
+public abstract class UserExportWriter implements Closeable {
+
+    /**
+     * 创建写出器
+     *
+     * @param format       导出格式
+     * @param outputStream 输出流（close 时会一并关闭）
+     * @param objectMapper NDJSON 使用的 ObjectMapper（与接口返回的 Json 规则一致）
+     * @return 写出器
+     */
+    public static UserExportWriter create(UserExportFormatEnum format, OutputStream outputStream,
+                                          ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(outputStream, objectMapper);
+            case CSV -> new CsvWriter(outputStream);
+        };
+    }
+
+    /**
+     * 写出一个用户
+     *
+     * @param userVO 用户
+     */
+    public abstract void write(UserVO userVO) throws IOException;
+
+    /**
+     * 每行一个 Json 对象
+     */
+    private static class NdjsonWriter extends UserExportWriter {
+
+        private final JsonGenerator generator;
+
+        private final ObjectWriter rowWriter;
+
+        NdjsonWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+            // 行之间用换行分隔，由 write 自行输出
+            this.generator.setRootValueSeparator(null);
+            // 整个导出复用同一个 writer，且不在每行之后 flush
+            this.rowWriter = objectMapper.writerFor(UserVO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(UserVO userVO) throws IOException {
+            rowWriter.writeValue(generator, userVO);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 格式的 CSV，带 UTF-8 BOM 以便 Excel 正确识别中文
+     * <p>
+     * 以 = + - @ 制表符或回车开头的字段前加单引号，防止用户填写的内容在电子表格中被当作公式执行
+     */
+    private static class CsvWriter extends UserExportWriter {
+
+        private static final String HEADER = "id,userAccount,userName,userAvatar,userProfile,userRole,createTime";
+
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(UserVO userVO) throws IOException {
+            writer.write(String.valueOf(userVO.getId()));
+            writeField(userVO.getUserAccount());
+            writeField(userVO.getUserName());
+            writeField(userVO.getUserAvatar());
+            writeField(userVO.getUserProfile());
+            writeField(userVO.getUserRole());
+            LocalDateTime createTime = userVO.getCreateTime();
+            writeField(createTime == null ? null : DatePattern.NORM_DATETIME_FORMATTER.format(createTime));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if (FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            boolean needQuote = false;
+            for (int i = 0; i < value.length() && !needQuote; i++) {
+                char c = value.charAt(i);
+                needQuote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!needQuote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.ping.pingaicodegeneration.manager;
+
+import cn.hutool.core.net.NetUtil;
+import com.mybatisflex.core.keygen.IKeyGenerator;
+import com.ping.pingaicodegeneration.config.IdGeneratorProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.exception.ThrowUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户 id 生成器（注册到 MyBatis-Flex，见 IdGeneratorConfig）
+ * <p>
+ * 未配置工作节点 id 时，启动后通过 id_worker 表租用一个，并在独立线程上定期续约、持久化已发出的最大时间戳；
+ * 距上次续约成功接近租约时长时（租约可能已被其他实例接管），发号前先同步续约或重新分配，失败则拒绝发号；
+ * 分配失败（如数据库不可用）时不发号，由续约线程和后续发号请求重试分配，避免不同实例使用相同的工作节点 id
+ */
+@Slf4j
+@Component
+public class UserIdGenerator implements IKeyGenerator {
+
+    @Resource
+    private IdGeneratorProperties idGeneratorProperties;
+
+    @Resource
+    private IdWorkerLeaseManager idWorkerLeaseManager;
+
+    private volatile SnowflakeIdGenerator generator;
+
+    /**
+     * 当前是否持有 id_worker 表中的租约
+     */
+    private volatile boolean leased;
+
+    /**
+     * 最近一次续约（或分配）成功的时间，取自 System.nanoTime，不受时钟回拨影响
+     */
+    private volatile long lastRenewNanos;
+
+    /**
+     * 续约线程：不使用 Spring 共享的调度线程，避免被其他定时任务阻塞导致租约过期
+     */
+    private ScheduledExecutorService heartbeatExecutor;
+
+    private final String instance = NetUtil.getLocalhostStr() + ":" + ProcessHandle.current().pid();
+
+    @Override
+    public Object generate(Object entity, String keyColumn) {
+        return nextId();
+    }
+
+    public long nextId() {
+        SnowflakeIdGenerator current = generator;
+        if (current == null) {
+            current = init();
+            ThrowUtils.throwIf(current == null, ErrorCode.SYSTEM_ERROR, "id 生成器尚未分配工作节点");
+        }
+        if (leased && System.nanoTime() - lastRenewNanos > renewDeadlineNanos()) {
+            current = renewBeforeUse();
+        }
+        return current.nextId();
+    }
+
+    /**
+     * 租约即将过期时发号前同步续约，续约失败则拒绝发号，避免与接管该工作节点的实例发出重复 id
+     */
+    private synchronized SnowflakeIdGenerator renewBeforeUse() {
+        if (System.nanoTime() - lastRenewNanos > renewDeadlineNanos() && !renewOrReclaim()) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "id 生成器租约已过期");
+        }
+        return generator;
+    }
+
+    /**
+     * 距上次续约成功超过该时长后必须先续约才能发号（租约时长减去安全余量）
+     */
+    private long renewDeadlineNanos() {
+        return TimeUnit.SECONDS.toNanos(idGeneratorProperties.getLeaseSeconds()
+                - idGeneratorProperties.getLeaseSafetySeconds());
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "id-worker-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = idGeneratorProperties.getHeartbeatIntervalSeconds();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 启动后立即分配工作节点，避免首次插入时才访问 id_worker 表（失败时由续约线程重试）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        init();
+    }
+
+    /**
+     * 分配工作节点并创建生成器
+     *
+     * @return 生成器，分配失败时返回 null
+     */
+    private synchronized SnowflakeIdGenerator init() {
+        if (generator != null) {
+            return generator;
+        }
+        long datacenterId = idGeneratorProperties.getDatacenterId();
+        long maxWorkerId = (1L << idGeneratorProperties.getWorkerBits()) - 1;
+        long workerId = idGeneratorProperties.getWorkerId();
+        long lastTimestamp = 0;
+        if (workerId < 0) {
+            try {
+                IdWorkerLeaseManager.Lease lease = idWorkerLeaseManager.claim(datacenterId, maxWorkerId, instance,
+                        TimeUnit.SECONDS.toMillis(idGeneratorProperties.getLeaseSeconds()));
+                workerId = lease.workerId();
+                lastTimestamp = lease.lastTimestamp();
+                lastRenewNanos = System.nanoTime();
+                leased = true;
+            } catch (Exception e) {
+                log.warn("分配雪花 id 工作节点失败，暂停发号，等待重试", e);
+                return null;
+            }
+        }
+        generator = create(workerId, lastTimestamp);
+        log.info("用户 id 生成器就绪，数据中心 {}，工作节点 {}", datacenterId, workerId);
+        return generator;
+    }
+
+    private SnowflakeIdGenerator create(long workerId, long lastTimestamp) {
+        return new SnowflakeIdGenerator(idGeneratorProperties.getDatacenterBits(),
+                idGeneratorProperties.getWorkerBits(), idGeneratorProperties.getSequenceBits(),
+                idGeneratorProperties.getDatacenterId(), workerId, idGeneratorProperties.getEpochMillis(),
+                lastTimestamp, idGeneratorProperties.getPrefetchSize(), idGeneratorProperties.getMaxAheadMillis(),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * 续约并持久化已发出的最大时间戳；租约被其他实例接管时重新分配工作节点；尚未分配时重试分配
+     */
+    public void heartbeat() {
+        if (generator == null) {
+            // 启动时分配失败，重试
+            init();
+            return;
+        }
+        if (!leased) {
+            return;
+        }
+        synchronized (this) {
+            renewOrReclaim();
+        }
+    }
+
+    /**
+     * 续约，失败时重新分配工作节点（调用方持有本对象锁）
+     *
+     * @return 是否持有有效租约
+     */
+    private boolean renewOrReclaim() {
+        SnowflakeIdGenerator current = generator;
+        // 以发起续约的时间为准，数据库中的到期时间不会早于它加上租约时长
+        long renewStartNanos = System.nanoTime();
+        try {
+            if (idWorkerLeaseManager.renew(current.getDatacenterId(), current.getWorkerId(), instance,
+                    current.getLastTimestamp())) {
+                lastRenewNanos = renewStartNanos;
+                return true;
+            }
+            long maxWorkerId = (1L << idGeneratorProperties.getWorkerBits()) - 1;
+            IdWorkerLeaseManager.Lease lease = idWorkerLeaseManager.claim(current.getDatacenterId(), maxWorkerId,
+                    instance, TimeUnit.SECONDS.toMillis(idGeneratorProperties.getLeaseSeconds()));
+            generator = create(lease.workerId(), Math.max(lease.lastTimestamp(), current.getLastTimestamp()));
+            lastRenewNanos = renewStartNanos;
+            log.warn("雪花 id 工作节点 {} 的租约已失效，重新分配为 {}", current.getWorkerId(), lease.workerId());
+            return true;
+        } catch (Exception e) {
+            log.warn("雪花 id 工作节点续约失败", e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        SnowflakeIdGenerator current = generator;
+        if (current == null || !leased) {
+            return;
+        }
+        try {
+            idWorkerLeaseManager.release(current.getDatacenterId(), current.getWorkerId(), instance,
+                    current.getLastTimestamp());
+        } catch (Exception e) {
+            log.warn("释放雪花 id 工作节点失败", e);
+        }
+    }
+
+    /**
+     * 当前使用的生成器，尚未初始化时返回 null
+     */
+    public SnowflakeIdGenerator getGenerator() {
+        return generator;
+    }
+}
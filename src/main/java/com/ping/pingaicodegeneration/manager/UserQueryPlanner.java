@@ -0,0 +1,121 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.UserQueryPlanProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户列表查询计划
+ * <p>
+ * 按 sql/create_table.sql 中 user 表的索引登记可排序字段，为每次查询选择能直接按索引顺序读取的排序方式，
+ * 避免对全表 filesort：
+ * <ul>
+ *     <li>排序字段已被等值条件固定（如按 userRole 过滤再按 userRole 排序）时去掉排序</li>
+ *     <li>存在一个索引，跳过等值条件覆盖的前缀列后恰好以排序字段开头时，按该索引顺序读取
+ *     （InnoDB 二级索引隐含主键，(排序字段, id) 的游标排序同样适用）；多个可选时取等值前缀最长的</li>
+ *     <li>结果已被主键或搜索索引限定在少量行内时，允许任意登记字段排序（只对这些行排序）</li>
+ *     <li>其余情况拒绝，或按配置改为主键排序</li>
+ * </ul>
+ * 新增索引时需同步修改 {@link #INDEXES}
+ */
+@Slf4j
+@Component
+public class UserQueryPlanner {
+
+    /**
+     * 未指定排序字段时的默认排序（主键）
+     */
+    public static final String DEFAULT_SORT_FIELD = "id";
+
+    /**
+     * user 表的索引
+     *
+     * @param name    索引名
+     * @param columns 索引列（不含隐含的主键）
+     */
+    private record Index(String name, List<String> columns) {
+    }
+
+    private static final List<Index> INDEXES = List.of(
+            new Index("PRIMARY", List.of("id")),
+            new Index("uk_userAccount", List.of("userAccount")),
+            new Index("idx_userName", List.of("userName")),
+            new Index("idx_createTime", List.of("createTime")),
+            new Index("idx_updateTime", List.of("updateTime")),
+            new Index("idx_userRole_createTime", List.of("userRole", "createTime"))
+    );
+
+    /**
+     * 允许排序的字段
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "userAccount", "userName", "userRole", "createTime", "updateTime", "editTime");
+
+    @Resource
+    private UserQueryPlanProperties userQueryPlanProperties;
+
+    /**
+     * 查询计划
+     *
+     * @param sortField 实际排序字段，null 表示无需排序
+     * @param index     提供顺序的索引，null 表示对少量结果排序或无需排序
+     */
+    public record Plan(String sortField, String index) {
+    }
+
+    /**
+     * 生成查询计划
+     *
+     * @param sortField      请求的排序字段，为空时按主键排序
+     * @param equalityFields 带等值条件的字段
+     * @param selective      结果是否已被主键或搜索索引限定在少量行内
+     * @return 查询计划
+     */
+    public Plan plan(String sortField, Set<String> equalityFields, boolean selective) {
+        String field = sortField == null || sortField.isBlank() ? DEFAULT_SORT_FIELD : sortField;
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "不支持的排序字段");
+        }
+        if (equalityFields.contains(field)) {
+            return new Plan(null, null);
+        }
+        Index index = findOrderedIndex(field, equalityFields);
+        if (index != null) {
+            return new Plan(field, index.name());
+        }
+        if (selective) {
+            return new Plan(field, null);
+        }
+        if (userQueryPlanProperties.isRejectUnindexedSort()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "该排序字段没有索引，请添加过滤条件或改用其他排序字段");
+        }
+        log.debug("排序字段 {} 没有索引，改为按 {} 排序", field, DEFAULT_SORT_FIELD);
+        return new Plan(DEFAULT_SORT_FIELD, "PRIMARY");
+    }
+
+    /**
+     * 查找跳过等值前缀后以排序字段开头的索引，多个时取等值前缀最长的
+     */
+    private static Index findOrderedIndex(String field, Set<String> equalityFields) {
+        Index best = null;
+        int bestPrefix = -1;
+        for (Index index : INDEXES) {
+            List<String> columns = index.columns();
+            int prefix = 0;
+            while (prefix < columns.size() && equalityFields.contains(columns.get(prefix))) {
+                prefix++;
+            }
+            if (prefix < columns.size() && columns.get(prefix).equals(field) && prefix > bestPrefix) {
+                best = index;
+                bestPrefix = prefix;
+            }
+        }
+        return best;
+    }
+}
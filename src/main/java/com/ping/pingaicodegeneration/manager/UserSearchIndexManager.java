@@ -0,0 +1,442 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
+import com.ping.pingaicodegeneration.config.UserSearchIndexProperties;
+import com.ping.pingaicodegeneration.mapper.UserMapper;
+import com.ping.pingaicodegeneration.model.entity.User;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 用户搜索索引（本地 n-gram 倒排索引）
+ * <p>
+ * 为 userAccount / userName / userProfile 的模糊查询提供候选 id，避免前导通配符 LIKE 全表扫描。
+ * 写操作通过 {@link #index(User)}、{@link #update(User, boolean)}、{@link #remove(Long)} 增量同步，
+ * 启动时及之后定期从数据库全量重建。无法走索引时（未就绪、关键词过短、含通配符、候选过多）返回 null，由调用方回退为 LIKE。
+ * <p>
+ * 其他节点的写入要到下次重建才能进入本节点的索引，索引只对 {@link #getCompleteSince()} 之前的写入是完整的，
+ * 调用方需要用 updateTime 条件补上之后写入的用户。倒排项总数超过上限时停用索引，限制每个节点的内存占用。
+ * <p>
+ * 匹配规则按 utf8mb4_unicode_ci 近似处理：忽略大小写、全半角和重音差异。
+ */
+@Component
+@Slf4j
+public class UserSearchIndexManager {
+
+    /**
+     * 可索引的字段
+     */
+    public enum Field {
+        USER_ACCOUNT('a', IndexedUser::userAccount),
+        USER_NAME('n', IndexedUser::userName),
+        USER_PROFILE('p', IndexedUser::userProfile);
+
+        private final char prefix;
+
+        private final Function<IndexedUser, String> getter;
+
+        Field(char prefix, Function<IndexedUser, String> getter) {
+            this.prefix = prefix;
+            this.getter = getter;
+        }
+    }
+
+    /**
+     * 已索引用户的规范化字段值，用于删除旧分词和校验候选结果
+     */
+    private record IndexedUser(String userAccount, String userName, String userProfile) {
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * 倒排表：字段前缀 + 分词 -> 用户 id 集合
+     */
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * 正排表：用户 id -> 已索引的字段值
+     */
+    private final Map<Long, IndexedUser> documents = new ConcurrentHashMap<>();
+
+    /**
+     * 重建期间被写入的用户 id，重建结束时不会被当作已删除
+     */
+    private volatile Set<Long> rebuildTouched;
+
+    private volatile boolean ready = false;
+
+    /**
+     * 用户数超出上限，停止维护索引
+     */
+    private volatile boolean overCapacity = false;
+
+    /**
+     * 倒排项总数（所有倒排链长度之和），用于限制内存
+     */
+    private final AtomicLong postingEntries = new AtomicLong();
+
+    /**
+     * 最近一次重建开始时的数据库时间（已减去时钟偏差余量），索引包含此前所有的写入
+     */
+    private volatile LocalDateTime completeSince;
+
+    @Resource
+    private UserSearchIndexProperties userSearchIndexProperties;
+
+    @Resource
+    private UserMapper userMapper;
+
+    /**
+     * 索引是否可用
+     */
+    public boolean isReady() {
+        return ready && userSearchIndexProperties.isEnabled();
+    }
+
+    /**
+     * 已索引的用户数
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 倒排项总数
+     */
+    public long getPostingEntries() {
+        return postingEntries.get();
+    }
+
+    /**
+     * 索引完整的时间点：updateTime 早于该时间的用户一定已按最新数据索引；
+     * 之后的写入可能来自其他节点、尚未进入本节点索引。索引不可用时返回 null
+     *
+     * @return 时间点
+     */
+    public LocalDateTime getCompleteSince() {
+        return isReady() ? completeSince : null;
+    }
+
+    /**
+     * 新增或覆盖索引一个用户
+     *
+     * @param user 用户（需要包含 id）
+     */
+    public void index(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        markTouched(user.getId());
+        put(user.getId(), toIndexedUser(user));
+    }
+
+    /**
+     * 根据更新内容同步索引
+     *
+     * @param user        本次更新的用户字段
+     * @param ignoreNulls 为 true 时空字段表示未修改
+     */
+    public void update(User user, boolean ignoreNulls) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        IndexedUser old = documents.get(user.getId());
+        if (old == null && ignoreNulls) {
+            // 索引中没有该用户（已删除或尚未重建），无法得知完整字段，等待下次重建
+            return;
+        }
+        IndexedUser indexedUser = new IndexedUser(
+                merge(old == null ? null : old.userAccount(), user.getUserAccount(), ignoreNulls),
+                merge(old == null ? null : old.userName(), user.getUserName(), ignoreNulls),
+                merge(old == null ? null : old.userProfile(), user.getUserProfile(), ignoreNulls));
+        markTouched(user.getId());
+        put(user.getId(), indexedUser);
+    }
+
+    /**
+     * 移除一个用户的索引
+     *
+     * @param userId 用户 id
+     */
+    public void remove(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        markTouched(userId);
+        documents.computeIfPresent(userId, (id, old) -> {
+            removePostings(id, old);
+            return null;
+        });
+    }
+
+    /**
+     * 查询某个字段包含关键词的用户 id
+     *
+     * @param field   字段
+     * @param keyword 关键词（与 LIKE '%keyword%' 语义一致）
+     * @return 候选 id 集合；无法通过索引回答时返回 null
+     */
+    public Set<Long> search(Field field, String keyword) {
+        if (!isReady() || keyword == null) {
+            return null;
+        }
+        // LIKE 通配符的语义无法用子串匹配表达
+        if (keyword.indexOf('%') >= 0 || keyword.indexOf('_') >= 0 || keyword.indexOf('\\') >= 0) {
+            return null;
+        }
+        String normalized = normalize(keyword);
+        int gramSize = userSearchIndexProperties.getGramSize();
+        if (normalized.length() < gramSize) {
+            return null;
+        }
+        // 取最短的倒排链作为候选，再用正排表校验完整子串
+        Set<Long> smallest = null;
+        for (String gram : grams(normalized, gramSize)) {
+            Set<Long> ids = postings.get(field.prefix + gram);
+            if (ids == null || ids.isEmpty()) {
+                return Set.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long id : smallest) {
+            IndexedUser indexedUser = documents.get(id);
+            String value = indexedUser == null ? null : field.getter.apply(indexedUser);
+            if (value != null && value.contains(normalized)) {
+                result.add(id);
+                if (result.size() > userSearchIndexProperties.getMaxCandidates()) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 从数据库全量重建索引（启动时执行一次，之后按配置间隔执行）
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${ping.user.search-index.rebuild-interval-seconds:600}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rebuild() {
+        if (!userSearchIndexProperties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        if (overCapacity) {
+            // 上次因超出上限停用，从空索引开始
+            postings.clear();
+            documents.clear();
+            postingEntries.set(0);
+            overCapacity = false;
+        }
+        Set<Long> seen = new HashSet<>();
+        rebuildTouched = ConcurrentHashMap.newKeySet();
+        try {
+            // 先取开始时间：读取期间其他节点的写入 updateTime 不早于它，由调用方的 updateTime 条件覆盖
+            LocalDateTime rebuildStart = currentDatabaseTime()
+                    .minusSeconds(userSearchIndexProperties.getClockSkewSeconds());
+            int batchSize = userSearchIndexProperties.getRebuildBatchSize();
+            long lastId = Long.MIN_VALUE;
+            while (true) {
+                QueryWrapper queryWrapper = QueryWrapper.create()
+                        .select("id", "userAccount", "userName", "userProfile")
+                        .gt("id", lastId)
+                        .orderBy("id", true)
+                        .limit(batchSize);
+                List<User> userList = userMapper.selectListByQuery(queryWrapper);
+                for (User user : userList) {
+                    seen.add(user.getId());
+                    // 重建期间已被增量写入的用户以增量结果为准
+                    putIfUntouched(user.getId(), toIndexedUser(user));
+                }
+                if (seen.size() > userSearchIndexProperties.getMaxDocuments()) {
+                    disable("用户数超过 " + userSearchIndexProperties.getMaxDocuments());
+                    return;
+                }
+                if (overCapacity) {
+                    return;
+                }
+                if (userList.size() < batchSize) {
+                    break;
+                }
+                lastId = userList.get(userList.size() - 1).getId();
+            }
+            // 清理数据库中已不存在、且重建期间没有被写入的用户
+            Set<Long> touched = rebuildTouched;
+            for (Long id : new ArrayList<>(documents.keySet())) {
+                if (!seen.contains(id) && !touched.contains(id)) {
+                    remove(id);
+                }
+            }
+            completeSince = rebuildStart;
+            ready = true;
+            log.info("用户搜索索引重建完成，用户数 {}，分词 {}，倒排项 {}，耗时 {} ms",
+                    documents.size(), postings.size(), postingEntries.get(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("用户搜索索引重建失败，暂时回退为 LIKE 查询", e);
+        } finally {
+            rebuildTouched = null;
+        }
+    }
+
+    private void put(Long userId, IndexedUser indexedUser) {
+        if (overCapacity) {
+            return;
+        }
+        // compute 保证同一用户的索引更新串行执行
+        documents.compute(userId, (id, old) -> {
+            if (old != null) {
+                removePostings(id, old);
+            }
+            addPostings(id, indexedUser);
+            return indexedUser;
+        });
+        checkCapacity();
+    }
+
+    /**
+     * 重建时写入：在 compute 内检查是否已被增量写入，避免检查之后、写入之前的增量结果被旧数据覆盖
+     * （增量写入先标记再 compute，两者对同一用户串行）
+     */
+    private void putIfUntouched(Long userId, IndexedUser indexedUser) {
+        Set<Long> touched = rebuildTouched;
+        if (overCapacity) {
+            return;
+        }
+        documents.compute(userId, (id, old) -> {
+            if (touched != null && touched.contains(id)) {
+                return old;
+            }
+            if (old != null) {
+                removePostings(id, old);
+            }
+            addPostings(id, indexedUser);
+            return indexedUser;
+        });
+        checkCapacity();
+    }
+
+    private void checkCapacity() {
+        if (postingEntries.get() > userSearchIndexProperties.getMaxPostingEntries()) {
+            disable("倒排项超过 " + userSearchIndexProperties.getMaxPostingEntries());
+        }
+    }
+
+    /**
+     * 停用索引并释放内存，下次重建时重新尝试
+     */
+    private synchronized void disable(String reason) {
+        if (overCapacity) {
+            return;
+        }
+        log.warn("{}，停用用户搜索索引", reason);
+        overCapacity = true;
+        ready = false;
+        completeSince = null;
+        postings.clear();
+        documents.clear();
+        postingEntries.set(0);
+    }
+
+    private LocalDateTime currentDatabaseTime() {
+        Object now = Db.selectObject("select now()");
+        if (now instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return now instanceof LocalDateTime localDateTime ? localDateTime : LocalDateTime.now();
+    }
+
+    private void markTouched(Long userId) {
+        Set<Long> touched = rebuildTouched;
+        if (touched != null) {
+            touched.add(userId);
+        }
+    }
+
+    private void addPostings(Long userId, IndexedUser indexedUser) {
+        for (Field field : Field.values()) {
+            for (String gram : grams(field.getter.apply(indexedUser), userSearchIndexProperties.getGramSize())) {
+                postings.compute(field.prefix + gram, (key, ids) -> {
+                    if (ids == null) {
+                        ids = ConcurrentHashMap.newKeySet();
+                    }
+                    if (ids.add(userId)) {
+                        postingEntries.incrementAndGet();
+                    }
+                    return ids;
+                });
+            }
+        }
+    }
+
+    private void removePostings(Long userId, IndexedUser indexedUser) {
+        for (Field field : Field.values()) {
+            for (String gram : grams(field.getter.apply(indexedUser), userSearchIndexProperties.getGramSize())) {
+                postings.computeIfPresent(field.prefix + gram, (key, ids) -> {
+                    if (ids.remove(userId)) {
+                        postingEntries.decrementAndGet();
+                    }
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    /**
+     * 切分为去重后的 n-gram
+     */
+    private static Set<String> grams(String value, int gramSize) {
+        if (value == null || value.length() < gramSize) {
+            return Set.of();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + gramSize <= value.length(); i++) {
+            grams.add(value.substring(i, i + gramSize));
+        }
+        return grams;
+    }
+
+    private static IndexedUser toIndexedUser(User user) {
+        return new IndexedUser(normalize(user.getUserAccount()),
+                normalize(user.getUserName()), normalize(user.getUserProfile()));
+    }
+
+    private static String merge(String oldValue, String newValue, boolean ignoreNulls) {
+        if (newValue == null && ignoreNulls) {
+            return oldValue;
+        }
+        return normalize(newValue);
+    }
+
+    /**
+     * 规范化：兼容分解后去掉重音符号并转小写，近似 utf8mb4_unicode_ci 的比较规则
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.VirtualThreadProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 虚拟线程固定（pinning）监控
+ * <p>
+ * 通过 JFR 事件流订阅 jdk.VirtualThreadPinned，虚拟线程在 synchronized 块或本地方法中阻塞时，
+ * 会占住载体线程，这里按业务代码中的首个栈帧统计次数并打印告警
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APP_PACKAGE = "com.ping.pingaicodegeneration";
+
+    /**
+     * 最多统计的不同位置数
+     */
+    private static final int MAX_LOCATIONS = 200;
+
+    private final Map<String, LongAdder> pinnedCounts = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    @Resource
+    private VirtualThreadProperties virtualThreadProperties;
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreadProperties.isPinningMonitorEnabled()) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT)
+                    .withThreshold(Duration.ofMillis(virtualThreadProperties.getPinningThresholdMillis()))
+                    .withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            log.info("虚拟线程固定监控已启动，阈值 {} ms", virtualThreadProperties.getPinningThresholdMillis());
+        } catch (Exception e) {
+            log.warn("虚拟线程固定监控启动失败", e);
+        }
+    }
+
+    /**
+     * 各位置的固定次数，按次数倒序
+     */
+    public Map<String, Long> getPinnedCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        pinnedCounts.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue().sum()));
+        return result;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String location = locate(event);
+        LongAdder counter = pinnedCounts.get(location);
+        if (counter == null && pinnedCounts.size() < MAX_LOCATIONS) {
+            counter = pinnedCounts.computeIfAbsent(location, key -> new LongAdder());
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        log.warn("虚拟线程被固定到载体线程 {} ms，位置 {}", event.getDuration().toMillis(), location);
+    }
+
+    /**
+     * 优先取业务代码中的首个栈帧，没有时取栈顶
+     */
+    private static String locate(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame chosen = null;
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            if (chosen == null) {
+                chosen = frame;
+            }
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                chosen = frame;
+                break;
+            }
+        }
+        if (chosen == null) {
+            return "unknown";
+        }
+        return chosen.getMethod().getType().getName() + "." + chosen.getMethod().getName()
+                + ":" + chosen.getLineNumber();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ping.pingaicodegeneration.mapper;
+
+import com.mybatisflex.core.BaseMapper;
+import com.ping.pingaicodegeneration.model.entity.UserLoginLog;
+
+/**
+ * 用户登录记录 映射层。
+ *
+ * @author ping
+ */
+public interface UserLoginLogMapper extends BaseMapper<UserLoginLog> {
+
+}
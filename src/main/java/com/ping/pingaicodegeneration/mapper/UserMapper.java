@@ -1,7 +1,15 @@
 package com.ping.pingaicodegeneration.mapper;
 
 import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.provider.EntitySqlProvider;
+import com.mybatisflex.core.query.QueryWrapper;
 import com.ping.pingaicodegeneration.model.entity.User;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 用户 映射层。
@@ -10,4 +18,23 @@ import com.ping.pingaicodegeneration.model.entity.User;
  */
 public interface UserMapper extends BaseMapper<User> {
 
+    /**
+     * 基于表统计信息估算用户表行数
+     *
+     * @return 估算行数，统计信息不可用时返回 null
+     */
+    Long selectApproximateCount();
+
+    /**
+     * 流式查询用户（MySQL 驱动逐行读取结果集，不在内存中缓冲整个结果）
+     * <p>
+     * 与 selectCursorByQuery 生成相同的 SQL；需要在事务内调用，游标读完前连接不能执行其他语句
+     *
+     * @param queryWrapper 查询条件
+     * @return 游标
+     */
+    @SelectProvider(type = EntitySqlProvider.class, method = "selectListByQuery")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<User> selectStreamByQuery(@Param(FlexConsts.QUERY) QueryWrapper queryWrapper);
+
 }
@@ -0,0 +1,20 @@
+package com.ping.pingaicodegeneration.model.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量获取用户请求
+ */
+@Data
+public class UserBatchGetRequest implements Serializable {
+
+    /**
+     * 用户 id 列表
+     */
+    private List<Long> ids;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,26 @@
+package com.ping.pingaicodegeneration.model.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+
+/**
+ * 用户导出请求（筛选条件与用户查询请求相同，分页参数不生效）
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class UserExportRequest extends UserQueryRequest implements Serializable {
+
+    /**
+     * 导出格式：ndjson, csv
+     */
+    private String format = "ndjson";
+
+    /**
+     * 是否 gzip 压缩
+     */
+    private boolean gzip = false;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,21 @@
+package com.ping.pingaicodegeneration.model.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+
+/**
+ * 用户导入记录（导入文件中的一行）
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class UserImportRequest extends UserAddRequest implements Serializable {
+
+    /**
+     * 初始密码，为空时使用默认密码
+     */
+    private String userPassword;
+
+    private static final long serialVersionUID = 1L;
+}
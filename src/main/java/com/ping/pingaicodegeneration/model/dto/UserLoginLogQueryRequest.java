@@ -0,0 +1,29 @@
+package com.ping.pingaicodegeneration.model.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 查询用户最近登录记录请求（用户 id 与账号至少填一个）
+ */
+@Data
+public class UserLoginLogQueryRequest implements Serializable {
+
+    /**
+     * 用户 id
+     */
+    private Long userId;
+
+    /**
+     * 登录账号（可查到账号存在但密码错误的记录）
+     */
+    private String userAccount;
+
+    /**
+     * 返回条数
+     */
+    private int limit = 20;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -38,6 +38,11 @@ public class UserQueryRequest extends PageRequest implements Serializable {
      */
     private String userRole;
 
+    /**
+     * 账号、昵称、简介的匹配方式：contains（默认，包含）/ prefix（前缀，账号和昵称可走索引）
+     */
+    private String matchMode;
+
     private static final long serialVersionUID = 1L;
 
 }
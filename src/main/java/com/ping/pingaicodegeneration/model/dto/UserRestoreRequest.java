@@ -0,0 +1,19 @@
+package com.ping.pingaicodegeneration.model.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 恢复已归档用户请求
+ */
+@Data
+public class UserRestoreRequest implements Serializable {
+
+    /**
+     * 用户 id
+     */
+    private Long id;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,67 @@
+package com.ping.pingaicodegeneration.model.entity;
+
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.annotation.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 用户登录记录 实体类。
+ *
+ * @author ping
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("user_login_log")
+public class UserLoginLog implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * id
+     */
+    @Id(keyType = KeyType.Auto)
+    private Long id;
+
+    /**
+     * 用户 id（账号或密码错误时为空）
+     */
+    @Column("userId")
+    private Long userId;
+
+    /**
+     * 登录账号
+     */
+    @Column("userAccount")
+    private String userAccount;
+
+    /**
+     * 登录 IP
+     */
+    @Column("ip")
+    private String ip;
+
+    /**
+     * 是否成功：0-失败 1-成功
+     */
+    @Column("success")
+    private Integer success;
+
+    /**
+     * 登录时间
+     */
+    @Column("loginTime")
+    private LocalDateTime loginTime;
+
+}
@@ -0,0 +1,23 @@
+package com.ping.pingaicodegeneration.model.enums;
+
+import lombok.Getter;
+
+/**
+ * 接口负载优先级（过载时低优先级接口先被拒绝）
+ */
+@Getter
+public enum LoadPriorityEnum {
+
+    CRITICAL("核心", "critical"),
+    NORMAL("普通", "normal"),
+    LOW("低", "low");
+
+    private final String text;
+
+    private final String value;
+
+    LoadPriorityEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+}
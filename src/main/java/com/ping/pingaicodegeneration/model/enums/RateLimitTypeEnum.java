@@ -0,0 +1,22 @@
+package com.ping.pingaicodegeneration.model.enums;
+
+import lombok.Getter;
+
+/**
+ * 限流维度
+ */
+@Getter
+public enum RateLimitTypeEnum {
+
+    IP("客户端 IP", "ip"),
+    ACCOUNT("账号", "account");
+
+    private final String text;
+
+    private final String value;
+
+    RateLimitTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ping.pingaicodegeneration.model.enums;
+
+import cn.hutool.core.util.ObjUtil;
+import lombok.Getter;
+
+/**
+ * 用户导出格式
+ */
+@Getter
+public enum UserExportFormatEnum {
+
+    NDJSON("NDJSON", "ndjson", "application/x-ndjson"),
+    CSV("CSV", "csv", "text/csv");
+
+    private final String text;
+
+    private final String value;
+
+    /**
+     * 未压缩时的响应类型
+     */
+    private final String contentType;
+
+    UserExportFormatEnum(String text, String value, String contentType) {
+        this.text = text;
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 根据值获取对应的枚举实例
+     *
+     * @param value 枚举值的字符串表示
+     * @return 匹配的枚举实例，如果没有匹配则返回null
+     */
+    public static UserExportFormatEnum getEnumByValue(String value) {
+        if (ObjUtil.isEmpty(value)) {
+            return null;
+        }
+        for (UserExportFormatEnum anEnum : UserExportFormatEnum.values()) {
+            if (anEnum.value.equals(value)) {
+                return anEnum;
+            }
+        }
+        return null;
+    }
+}
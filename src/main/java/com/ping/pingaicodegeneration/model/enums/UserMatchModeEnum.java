@@ -0,0 +1,41 @@
+package com.ping.pingaicodegeneration.model.enums;
+
+import cn.hutool.core.util.ObjUtil;
+import lombok.Getter;
+
+/**
+ * 用户文本条件匹配方式
+ */
+@Getter
+public enum UserMatchModeEnum {
+
+    CONTAINS("包含", "contains"),
+    PREFIX("前缀", "prefix");
+
+    private final String text;
+
+    private final String value;
+
+    UserMatchModeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 根据值获取对应的枚举实例
+     *
+     * @param value 枚举值的字符串表示
+     * @return 匹配的枚举实例，如果没有匹配则返回null
+     */
+    public static UserMatchModeEnum getEnumByValue(String value) {
+        if (ObjUtil.isEmpty(value)) {
+            return null;
+        }
+        for (UserMatchModeEnum anEnum : UserMatchModeEnum.values()) {
+            if (anEnum.value.equals(value)) {
+                return anEnum;
+            }
+        }
+        return null;
+    }
+}
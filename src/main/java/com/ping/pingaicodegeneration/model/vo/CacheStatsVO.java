@@ -0,0 +1,44 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 本地缓存统计信息
+ */
+@Data
+public class CacheStatsVO implements Serializable {
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 当前缓存条数（近似值）
+     */
+    private Long size;
+
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 淘汰次数
+     */
+    private Long evictionCount;
+
+    private static final long serialVersionUID = 1L;
+}
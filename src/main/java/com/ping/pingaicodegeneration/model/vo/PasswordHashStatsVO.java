@@ -0,0 +1,39 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 密码加密线程池统计信息
+ */
+@Data
+public class PasswordHashStatsVO implements Serializable {
+
+    /**
+     * 已完成的加密次数
+     */
+    private Long hashCount;
+
+    /**
+     * 队列满或超时被拒绝的次数
+     */
+    private Long rejectedCount;
+
+    /**
+     * 当前排队中的任务数
+     */
+    private Integer queueSize;
+
+    /**
+     * 平均排队等待时间（毫秒）
+     */
+    private Double avgQueueWaitMillis;
+
+    /**
+     * 平均加密计算时间（毫秒）
+     */
+    private Double avgHashMillis;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,65 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 一类 SQL 的执行统计
+ */
+@Data
+public class SqlStatsVO implements Serializable {
+
+    /**
+     * SQL 指纹
+     */
+    private String fingerprint;
+
+    /**
+     * 执行次数
+     */
+    private Long count;
+
+    /**
+     * 执行失败（抛出异常）的次数，已包含在执行次数中
+     */
+    private Long failedCount;
+
+    /**
+     * 总耗时（毫秒）
+     */
+    private Double totalMillis;
+
+    /**
+     * 平均耗时（毫秒）
+     */
+    private Double avgMillis;
+
+    /**
+     * 最大耗时（毫秒）
+     */
+    private Double maxMillis;
+
+    /**
+     * p99 耗时所在直方图桶的上界（毫秒），超出最大桶时为 null
+     */
+    private Long p99UpperBoundMillis;
+
+    /**
+     * 累计返回或影响的行数
+     */
+    private Long rows;
+
+    /**
+     * 最近一次执行时间（毫秒时间戳）
+     */
+    private Long lastExecuteTime;
+
+    /**
+     * 耗时直方图
+     */
+    private Map<String, Long> histogram;
+
+    private static final long serialVersionUID = 1L;
+}
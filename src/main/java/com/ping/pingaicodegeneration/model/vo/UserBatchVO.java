@@ -0,0 +1,25 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量获取用户结果
+ */
+@Data
+public class UserBatchVO implements Serializable {
+
+    /**
+     * 脱敏后的用户信息（按请求 id 的顺序，重复 id 只返回一次）
+     */
+    private List<UserVO> users;
+
+    /**
+     * 不存在的用户 id
+     */
+    private List<Long> missingIds;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,33 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 用户导入失败的行
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportErrorVO implements Serializable {
+
+    /**
+     * 行号（从 1 开始）
+     */
+    private long line;
+
+    /**
+     * 账号
+     */
+    private String userAccount;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,36 @@
+package com.ping.pingaicodegeneration.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户导入结果
+ */
+@Data
+public class UserImportResultVO implements Serializable {
+
+    /**
+     * 读取的记录数（不含空行）
+     */
+    private long total;
+
+    /**
+     * 导入成功数
+     */
+    private long successCount;
+
+    /**
+     * 导入失败数
+     */
+    private long failedCount;
+
+    /**
+     * 失败的行
+     */
+    private List<UserImportErrorVO> errors = new ArrayList<>();
+
+    private static final long serialVersionUID = 1L;
+}
@@ -1,13 +1,24 @@
 package com.ping.pingaicodegeneration.service;
 
+import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.service.IService;
+import com.ping.pingaicodegeneration.common.CursorPage;
+import com.ping.pingaicodegeneration.model.dto.UserLoginLogQueryRequest;
 import com.ping.pingaicodegeneration.model.dto.UserQueryRequest;
 import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.entity.UserLoginLog;
+import com.ping.pingaicodegeneration.model.enums.UserExportFormatEnum;
 import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserBatchVO;
+import com.ping.pingaicodegeneration.model.vo.UserImportResultVO;
 import com.ping.pingaicodegeneration.model.vo.UserVO;
+import com.ping.pingaicodegeneration.session.LoginPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -44,13 +55,29 @@ public interface UserService extends IService<User> {
     LoginUserVO getLoginUserVO(User user);
 
     /**
-     * 获取当前登录用户信息
+     * 获取当前登录用户信息（同一请求内只解析一次）
      *
      * @param request
      * @return
      */
     User getLoginUser(HttpServletRequest request);
 
+    /**
+     * 获取当前登录凭证（凭证仍在有效期内时不查询用户，否则重新核对后刷新）
+     *
+     * @param request 请求
+     * @return 登录凭证
+     */
+    LoginPrincipal getLoginPrincipal(HttpServletRequest request);
+
+    /**
+     * 获取会话中记录的登录用户 id（不核对用户、不创建会话）
+     *
+     * @param request 请求
+     * @return 登录用户 id，未登录返回 null
+     */
+    Long getLoginUserIdOrNull(HttpServletRequest request);
+
     /**
      * 用户注销
      *
@@ -77,6 +104,14 @@ public interface UserService extends IService<User> {
      */
     UserVO getUserVO(User user);
 
+    /**
+     * 获取用户信息的 ETag（由 id 和 updateTime 生成，用户信息不变时 ETag 不变）
+     *
+     * @param user 用户
+     * @return 弱 ETag
+     */
+    String getUserETag(User user);
+
     /**
      * 获取脱敏后的用户信息列表
      *
@@ -85,6 +120,14 @@ public interface UserService extends IService<User> {
      */
     List<UserVO> getUserVOList(List<User> userList);
 
+    /**
+     * 批量获取脱敏后的用户信息（一次 IN 查询）
+     *
+     * @param ids 用户 id 列表
+     * @return 按请求顺序排列的用户信息及不存在的 id
+     */
+    UserBatchVO getUserVOBatch(List<Long> ids);
+
     /**
      * 根据查询条件构造数据查询参数
      *
@@ -93,4 +136,66 @@ public interface UserService extends IService<User> {
      */
     QueryWrapper getUserQueryWrapper(UserQueryRequest userQueryRequest);
 
+    /**
+     * 分页获取脱敏后的用户信息列表
+     * <p>
+     * 总数优先取缓存；开启 approximateCount 且无过滤条件时使用表统计信息估算
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 分页结果
+     */
+    Page<UserVO> listUserVOByPage(UserQueryRequest userQueryRequest);
+
+    /**
+     * 游标分页获取脱敏后的用户信息列表
+     * <p>
+     * 按 (排序字段, id) 定位边界，不使用 OFFSET；可通过 searchCount 跳过总数查询
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 游标分页结果
+     */
+    CursorPage<UserVO> listUserVOByCursor(UserQueryRequest userQueryRequest);
+
+    /**
+     * 流式导出脱敏后的用户信息
+     * <p>
+     * 从数据库游标逐行读取并写出，内存占用与导出行数无关；
+     * 查询条件由调用方通过 {@link #getUserQueryWrapper} 预先构造，以便在响应开始写出前完成参数校验
+     *
+     * @param queryWrapper 数据查询参数（不含分页）
+     * @param format       导出格式
+     * @param gzip         是否 gzip 压缩
+     * @param outputStream 输出流（不会被关闭）
+     * @return 导出行数
+     */
+    long exportUserVO(QueryWrapper queryWrapper, UserExportFormatEnum format, boolean gzip,
+                      OutputStream outputStream) throws IOException;
+
+    /**
+     * 批量导入用户
+     * <p>
+     * 输入为每行一个用户导入记录的 NDJSON；按批加密密码、批量写入，每批独立提交，失败的行逐行报告
+     *
+     * @param inputStream 输入流
+     * @return 导入结果
+     */
+    UserImportResultVO importUsers(InputStream inputStream) throws IOException;
+
+    /**
+     * 恢复已归档的用户（恢复为未删除），并同步分页总数缓存、搜索索引和账号布隆过滤器
+     *
+     * @param id 用户 id
+     */
+    void restoreArchivedUser(long id);
+
+    /**
+     * 查询用户最近的登录记录（按时间倒序）
+     * <p>
+     * 登录审计异步批量写入，最近一个写入间隔内的登录可能还查不到
+     *
+     * @param userLoginLogQueryRequest 查询请求
+     * @return 登录记录
+     */
+    List<UserLoginLog> listRecentLogins(UserLoginLogQueryRequest userLoginLogQueryRequest);
+
 }
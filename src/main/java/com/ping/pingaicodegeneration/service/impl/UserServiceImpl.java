@@ -1,30 +1,93 @@
 package com.ping.pingaicodegeneration.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mybatisflex.core.logicdelete.LogicDeleteManager;
+import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.CPI;
 import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
 import com.mybatisflex.spring.service.impl.ServiceImpl;
+import com.ping.pingaicodegeneration.annotation.UseReplica;
+import com.ping.pingaicodegeneration.common.CountAwarePage;
+import com.ping.pingaicodegeneration.common.CursorPage;
+import com.ping.pingaicodegeneration.common.PageCursor;
+import com.ping.pingaicodegeneration.config.LoginAuditProperties;
+import com.ping.pingaicodegeneration.config.UserBatchLoaderProperties;
+import com.ping.pingaicodegeneration.config.UserImportProperties;
+import com.ping.pingaicodegeneration.config.UserSessionProperties;
+import com.ping.pingaicodegeneration.constant.UserConstant;
+import com.ping.pingaicodegeneration.convert.UserConvert;
+import com.ping.pingaicodegeneration.exception.BusinessException;
 import com.ping.pingaicodegeneration.exception.ErrorCode;
 import com.ping.pingaicodegeneration.exception.ThrowUtils;
+import com.ping.pingaicodegeneration.manager.LoginAuditManager;
+import com.ping.pingaicodegeneration.manager.PasswordHashManager;
+import com.ping.pingaicodegeneration.manager.UserAccountBloomFilter;
+import com.ping.pingaicodegeneration.manager.UserArchiveManager;
+import com.ping.pingaicodegeneration.manager.UserCacheManager;
+import com.ping.pingaicodegeneration.manager.UserCountCacheManager;
+import com.ping.pingaicodegeneration.manager.UserExportWriter;
+import com.ping.pingaicodegeneration.manager.UserQueryPlanner;
+import com.ping.pingaicodegeneration.manager.UserSearchIndexManager;
+import com.ping.pingaicodegeneration.mapper.UserLoginLogMapper;
 import com.ping.pingaicodegeneration.mapper.UserMapper;
+import com.ping.pingaicodegeneration.model.dto.UserImportRequest;
+import com.ping.pingaicodegeneration.model.dto.UserLoginLogQueryRequest;
 import com.ping.pingaicodegeneration.model.dto.UserQueryRequest;
 import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.entity.UserLoginLog;
+import com.ping.pingaicodegeneration.model.enums.UserExportFormatEnum;
+import com.ping.pingaicodegeneration.model.enums.UserMatchModeEnum;
 import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
 import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserBatchVO;
+import com.ping.pingaicodegeneration.model.vo.UserImportErrorVO;
+import com.ping.pingaicodegeneration.model.vo.UserImportResultVO;
 import com.ping.pingaicodegeneration.model.vo.UserVO;
 import com.ping.pingaicodegeneration.service.UserService;
+import com.ping.pingaicodegeneration.session.LoginPrincipal;
+import com.ping.pingaicodegeneration.session.LoginPrincipalCodec;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.BeanUtils;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.DigestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+import static com.ping.pingaicodegeneration.constant.UserConstant.LOGIN_USER_REQUEST_ATTR;
 import static com.ping.pingaicodegeneration.constant.UserConstant.USER_LOGIN_STATE;
 
 /**
@@ -33,8 +96,67 @@ import static com.ping.pingaicodegeneration.constant.UserConstant.USER_LOGIN_STA
  * @author ping
  */
 @Service
+@Slf4j
+@Timed(value = "ping.user.service", description = "用户服务方法耗时")
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /**
+     * 游标分页允许的排序字段及取值方式（只允许非空列，保证 (排序值, id) 可比较）
+     */
+    private static final Map<String, Function<User, Object>> CURSOR_SORT_FIELDS = Map.of(
+            "id", User::getId,
+            "userAccount", User::getUserAccount,
+            "userRole", User::getUserRole,
+            "createTime", User::getCreateTime,
+            "updateTime", User::getUpdateTime,
+            "editTime", User::getEditTime
+    );
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private UserCountCacheManager userCountCacheManager;
+
+    @Resource
+    private UserSearchIndexManager userSearchIndexManager;
+
+    @Resource
+    private UserBatchLoaderProperties userBatchLoaderProperties;
+
+    @Resource
+    private UserAccountBloomFilter userAccountBloomFilter;
+
+    @Resource
+    private PasswordHashManager passwordHashManager;
+
+    @Resource
+    private UserArchiveManager userArchiveManager;
+
+    @Resource
+    private UserQueryPlanner userQueryPlanner;
+
+    @Resource
+    private LoginAuditManager loginAuditManager;
+
+    @Resource
+    private UserLoginLogMapper userLoginLogMapper;
+
+    @Resource
+    private LoginAuditProperties loginAuditProperties;
+
+    @Resource
+    private UserSessionProperties userSessionProperties;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private UserImportProperties userImportProperties;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
     /**
      * 用户注册
      *
@@ -56,11 +178,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         ThrowUtils.throwIf(!userPassword.equals(checkPassword)
                 , ErrorCode.PARAMS_ERROR, "两次密码不一致");
         // 2. 检查用户账户是否和数据库已有的重复
-        QueryWrapper queryWrapper = new QueryWrapper();
-        queryWrapper.eq("userAccount", userAccount);
-        long countByQuery = this.mapper.selectCountByQuery(queryWrapper);
-        ThrowUtils.throwIf(countByQuery > 0
-                , ErrorCode.PARAMS_ERROR, "用户账户已存在");
+        // 布隆过滤器判定一定不存在时跳过查询；可能存在时查询确认，避免为已有账号做无用的加密和插入
+        if (userAccountBloomFilter.mightContain(userAccount)) {
+            QueryWrapper queryWrapper = new QueryWrapper();
+            queryWrapper.eq("userAccount", userAccount);
+            long countByQuery = this.mapper.selectCountByQuery(queryWrapper);
+            ThrowUtils.throwIf(countByQuery > 0
+                    , ErrorCode.PARAMS_ERROR, "用户账户已存在");
+        }
         // 3. 用户密码加密
         String encryptPassword = this.getEncryptPassword(userPassword);
         // 4. 生成6位UUID用户名
@@ -71,7 +196,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         user.setUserPassword(encryptPassword);
         user.setUserName(userName);
         user.setUserRole(UserRoleEnum.USER.getValue());
-        boolean saveResult = this.save(user);
+        // 并发注册或已逻辑删除的同名账号由唯一索引兜底
+        boolean saveResult;
+        try {
+            saveResult = this.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户账户已存在");
+        }
         ThrowUtils.throwIf(!saveResult, ErrorCode.SYSTEM_ERROR, "注册失败，数据库错误");
         return user.getId(); // 主键回传
     }
@@ -84,10 +215,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public String getEncryptPassword(String userPassword) {
-        // 1. 加盐，混淆密码
-        final String SALT = "ping";
-        // 2. 使用单向加密
-        return DigestUtils.md5DigestAsHex((SALT + userPassword).getBytes(StandardCharsets.UTF_8));
+        // 加盐单向加密，在独立的加密线程池中执行
+        return passwordHashManager.hash(userPassword);
     }
 
     /**
@@ -101,9 +230,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        LoginUserVO loginUserVO = new LoginUserVO();
-        BeanUtils.copyProperties(user, loginUserVO);
-        return loginUserVO;
+        return UserConvert.INSTANCE.toLoginUserVO(user);
     }
 
     /**
@@ -114,18 +241,84 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public User getLoginUser(HttpServletRequest request) {
-        // 先判断用户是否登录
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-        ThrowUtils.throwIf(currentUser == null || currentUser.getId() == null
-                , ErrorCode.NOT_LOGIN_ERROR);
-        // 从数据库查询当前用户信息
-        long userId = currentUser.getId();
-        currentUser = this.getById(userId);
+        // 同一请求内已解析过（如权限拦截器已调用），直接复用
+        Object resolvedUser = request.getAttribute(LOGIN_USER_REQUEST_ATTR);
+        if (resolvedUser instanceof User user) {
+            return user;
+        }
+        // 先判断用户是否登录（不主动创建会话）
+        HttpSession session = request.getSession(false);
+        LoginPrincipal principal = readPrincipal(session);
+        ThrowUtils.throwIf(principal == null, ErrorCode.NOT_LOGIN_ERROR);
+        long now = System.currentTimeMillis();
+        boolean fresh = principal.isFresh(now, principalTtlMillis());
+        // 凭证有效期内从本地缓存查询，未命中再查数据库；
+        // 凭证过期时绕过缓存直接查库，否则其他节点上的角色变更要等本地缓存过期才能感知
+        User currentUser = fresh ? userCacheManager.get(principal.userId(), this::getById)
+                : this.getById(principal.userId());
         ThrowUtils.throwIf(currentUser == null, ErrorCode.NOT_LOGIN_ERROR);
+        // 只有查库核对过才刷新会话中的凭证和本地缓存（缓存中的数据可能比凭证更旧）
+        if (!fresh) {
+            session.setAttribute(USER_LOGIN_STATE, LoginPrincipalCodec.encode(LoginPrincipal.of(currentUser, now)));
+            userCacheManager.put(currentUser);
+        }
+        // 记录到当前请求，后续拦截器、控制层再取时不重复查询
+        request.setAttribute(LOGIN_USER_REQUEST_ATTR, currentUser);
         return currentUser;
     }
 
+    /**
+     * 获取当前登录凭证
+     *
+     * @param request 请求
+     * @return 登录凭证
+     */
+    @Override
+    public LoginPrincipal getLoginPrincipal(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        LoginPrincipal principal = readPrincipal(session);
+        ThrowUtils.throwIf(principal == null, ErrorCode.NOT_LOGIN_ERROR);
+        if (principal.isFresh(System.currentTimeMillis(), principalTtlMillis())) {
+            return principal;
+        }
+        // 凭证已过期，查库重新核对用户（同时刷新会话中的凭证）
+        return LoginPrincipal.of(getLoginUser(request), System.currentTimeMillis());
+    }
+
+    /**
+     * 获取会话中记录的登录用户 id（不核对用户、不创建会话）
+     *
+     * @param request 请求
+     * @return 登录用户 id，未登录返回 null
+     */
+    @Override
+    public Long getLoginUserIdOrNull(HttpServletRequest request) {
+        LoginPrincipal principal = readPrincipal(request.getSession(false));
+        return principal == null ? null : principal.userId();
+    }
+
+    /**
+     * 从会话中读取登录凭证（兼容升级前直接保存 User 对象的会话）
+     *
+     * @param session 会话
+     * @return 登录凭证，未登录返回 null
+     */
+    private LoginPrincipal readPrincipal(HttpSession session) {
+        Object state = session == null ? null : session.getAttribute(USER_LOGIN_STATE);
+        if (state instanceof byte[] bytes) {
+            return LoginPrincipalCodec.decode(bytes);
+        }
+        if (state instanceof User legacyUser && legacyUser.getId() != null) {
+            // 核对时间记为 0，保证下次使用前一定会重新核对
+            return LoginPrincipal.of(legacyUser, 0);
+        }
+        return null;
+    }
+
+    private long principalTtlMillis() {
+        return userSessionProperties.getPrincipalTtlSeconds() * 1000;
+    }
+
     /**
      * 用户注销
      *
@@ -139,6 +332,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         ThrowUtils.throwIf(userObj == null, ErrorCode.OPERATION_ERROR, "用户未登录");
         // 移除登录态
         request.getSession().removeAttribute(USER_LOGIN_STATE);
+        request.removeAttribute(LOGIN_USER_REQUEST_ATTR);
         return true;
     }
 
@@ -159,21 +353,51 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
                 , ErrorCode.PARAMS_ERROR, "用户账户过短");
         ThrowUtils.throwIf(userPassword.length() < 8
                 , ErrorCode.PARAMS_ERROR, "密码过短");
-        // 2. 加密
-        String encryptPassword = getEncryptPassword(userPassword);
-        // 3. 查询用户信息是否存在
+        // 2. 按账号查询用户，再按存储的密码格式（含各自的盐）校验
         QueryWrapper queryWrapper = new QueryWrapper();
         queryWrapper.eq("userAccount", userAccount);
-        queryWrapper.eq("userPassword", encryptPassword);
         User user = this.mapper.selectOneByQuery(queryWrapper);
+        if (user == null) {
+            // 账号不存在时同样计算一次，避免通过响应时间判断账号是否存在
+            getEncryptPassword(userPassword);
+        } else if (!passwordHashManager.matches(userPassword, user.getUserPassword())) {
+            user = null;
+        } else if (passwordHashManager.needsRehash(user.getUserPassword())) {
+            rehashPassword(user.getId(), userPassword);
+        }
+        // 3. 记录登录结果：登录审计异步批量写入，不在登录路径上执行插入
+        loginAuditManager.record(user == null ? null : user.getId(), userAccount, request.getRemoteAddr(),
+                user != null);
         ThrowUtils.throwIf(user == null, ErrorCode.PARAMS_ERROR
                 , "用户不存在或密码错误");
         // 4. 如果用户存在，记录用户的登录态
-        request.getSession().setAttribute(USER_LOGIN_STATE, user);
+        LoginPrincipal principal = LoginPrincipal.of(user, System.currentTimeMillis());
+        request.getSession().setAttribute(USER_LOGIN_STATE, LoginPrincipalCodec.encode(principal));
+        request.setAttribute(LOGIN_USER_REQUEST_ATTR, user);
         // 5. 返回脱敏后的用户信息
         return this.getLoginUserVO(user);
     }
 
+    /**
+     * 登录成功后将旧格式的密码按当前算法重新加密写回
+     * <p>
+     * 只更新密码字段；加密线程池繁忙或写库失败时保留旧值，不影响本次登录，下次登录再尝试
+     *
+     * @param userId       用户 id
+     * @param userPassword 已校验通过的明文密码
+     */
+    private void rehashPassword(Long userId, String userPassword) {
+        try {
+            User update = new User();
+            update.setId(userId);
+            update.setUserPassword(passwordHashManager.hash(userPassword));
+            this.mapper.update(update);
+            userCacheManager.invalidate(userId);
+        } catch (BusinessException | DataAccessException e) {
+            log.warn("用户 {} 的密码重新加密失败，保留旧格式", userId, e);
+        }
+    }
+
     /**
      * 获取脱敏后的用户信息
      *
@@ -185,9 +409,20 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
-        return userVO;
+        return UserConvert.INSTANCE.toUserVO(user);
+    }
+
+    /**
+     * 获取用户信息的 ETag
+     * <p>
+     * updateTime 精确到秒，同一秒内的两次修改会得到相同的 ETag，最多在该秒内返回旧数据
+     *
+     * @param user 用户
+     * @return 弱 ETag
+     */
+    @Override
+    public String getUserETag(User user) {
+        return "W/\"" + user.getId() + "-" + Long.toString(LoginPrincipal.versionOf(user), 36) + "\"";
     }
 
     /**
@@ -201,9 +436,231 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (CollUtil.isEmpty(userList)) {
             return new ArrayList<>();
         }
-        return userList.stream()
-                .map(this::getUserVO)
-                .collect(Collectors.toList());
+        List<UserVO> userVOList = new ArrayList<>(userList.size());
+        for (User user : userList) {
+            userVOList.add(this.getUserVO(user));
+        }
+        return userVOList;
+    }
+
+    /**
+     * 批量导入用户
+     *
+     * @param inputStream 输入流（NDJSON，每行一个用户导入记录）
+     * @return 导入结果
+     */
+    @Override
+    public UserImportResultVO importUsers(InputStream inputStream) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(UserImportRequest.class);
+        int batchSize = Math.max(1, userImportProperties.getBatchSize());
+        UserImportResultVO result = new UserImportResultVO();
+        // 文件内的重复账号（账号列的排序规则不区分大小写）
+        Set<String> seenAccounts = new HashSet<>();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (StrUtil.isBlank(line)) {
+                continue;
+            }
+            if (result.getTotal() >= userImportProperties.getMaxRows()) {
+                addImportError(result, lineNumber, null,
+                        "超出单次导入上限 " + userImportProperties.getMaxRows() + " 条，后续记录未导入");
+                break;
+            }
+            result.setTotal(result.getTotal() + 1);
+            UserImportRequest userImportRequest;
+            try {
+                userImportRequest = rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                addImportError(result, lineNumber, null, "格式错误");
+                continue;
+            }
+            String error = validateImportRow(userImportRequest, seenAccounts);
+            if (error != null) {
+                addImportError(result, lineNumber, userImportRequest.getUserAccount(), error);
+                continue;
+            }
+            batch.add(new ImportRow(lineNumber, userImportRequest));
+            if (batch.size() >= batchSize) {
+                importBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, result);
+        }
+        if (result.getSuccessCount() > 0) {
+            userCountCacheManager.invalidateAll();
+        }
+        log.info("批量导入用户完成，读取：{}，成功：{}，失败：{}",
+                result.getTotal(), result.getSuccessCount(), result.getFailedCount());
+        return result;
+    }
+
+    /**
+     * 导入文件中通过校验的一行
+     */
+    private record ImportRow(long line, UserImportRequest request) {
+    }
+
+    /**
+     * 校验一行导入记录
+     *
+     * @return 错误信息，校验通过返回 null
+     */
+    private String validateImportRow(UserImportRequest userImportRequest, Set<String> seenAccounts) {
+        String userAccount = userImportRequest.getUserAccount();
+        if (StrUtil.isBlank(userAccount)) {
+            return "账号为空";
+        }
+        if (userAccount.length() < 4) {
+            return "用户账户过短";
+        }
+        if (userImportRequest.getUserPassword() != null && userImportRequest.getUserPassword().length() < 8) {
+            return "密码过短";
+        }
+        if (StrUtil.isNotBlank(userImportRequest.getUserRole())
+                && UserRoleEnum.getEnumByValue(userImportRequest.getUserRole()) == null) {
+            return "用户角色错误";
+        }
+        if (!seenAccounts.add(userAccount.toLowerCase())) {
+            return "文件中账号重复";
+        }
+        return null;
+    }
+
+    /**
+     * 导入一批记录：剔除已存在的账号，并行加密密码，一个 JDBC batch 写入
+     */
+    private void importBatch(List<ImportRow> batch, UserImportResultVO result) {
+        // 1. 布隆过滤器判定可能已存在的账号再查库（包括已逻辑删除的账号，唯一索引同样覆盖它们）
+        List<String> maybeExists = batch.stream()
+                .map(row -> row.request().getUserAccount())
+                .filter(userAccountBloomFilter::mightContain)
+                .toList();
+        Set<String> existingAccounts = new HashSet<>();
+        if (!maybeExists.isEmpty()) {
+            QueryWrapper queryWrapper = QueryWrapper.create()
+                    .select("userAccount")
+                    .in("userAccount", maybeExists);
+            LogicDeleteManager.execWithoutLogicDelete(() ->
+                            this.mapper.selectObjectListByQueryAs(queryWrapper, String.class))
+                    .forEach(userAccount -> existingAccounts.add(userAccount.toLowerCase()));
+        }
+        List<ImportRow> rows = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String userAccount = row.request().getUserAccount();
+            if (existingAccounts.contains(userAccount.toLowerCase())) {
+                addImportError(result, row.line(), userAccount, "用户账户已存在");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // 2. 加密密码：默认密码只加密一次，自定义密码分段并行加密
+        // pbkdf2 下使用默认密码的用户共用一个盐；默认密码本身是公开的，逐个加盐没有意义
+        List<String> customPasswords = rows.stream()
+                .map(row -> row.request().getUserPassword())
+                .filter(Objects::nonNull)
+                .toList();
+        int hashParallelism = userImportProperties.getHashParallelism() > 0
+                ? userImportProperties.getHashParallelism() : Math.max(1, passwordHashManager.getThreads() / 2);
+        Iterator<String> hashedPasswords = passwordHashManager.hashAll(customPasswords, hashParallelism).iterator();
+        String defaultPassword = customPasswords.size() < rows.size()
+                ? this.getEncryptPassword(UserConstant.DEFAULT_PASSWORD) : null;
+        // 3. 构造实体：所有列都显式赋值，保证每行的 INSERT 语句相同，才能合并到一个 JDBC batch
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            User user = UserConvert.INSTANCE.toUser(row.request());
+            user.setUserPassword(row.request().getUserPassword() != null ? hashedPasswords.next() : defaultPassword);
+            if (StrUtil.isBlank(user.getUserRole())) {
+                user.setUserRole(UserConstant.DEFAULT_ROLE);
+            }
+            user.setEditTime(now);
+            user.setCreateTime(now);
+            user.setUpdateTime(now);
+            user.setIsDelete(0);
+            users.add(user);
+        }
+        // 4. 一个事务内批量写入；失败（如与并发注册冲突）时整批回滚，改为逐行写入以定位失败的行
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    Db.executeBatch(users, users.size(), UserMapper.class, (mapper, user) -> mapper.insert(user, false)));
+            for (int i = 0; i < users.size(); i++) {
+                onUserImported(users.get(i), result);
+            }
+        } catch (RuntimeException e) {
+            log.warn("批量写入用户失败，改为逐行写入：{}", e.getMessage());
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    this.mapper.insert(user, false);
+                    onUserImported(user, result);
+                } catch (DuplicateKeyException ex) {
+                    addImportError(result, rows.get(i).line(), user.getUserAccount(), "用户账户已存在");
+                } catch (DataAccessException ex) {
+                    log.error("导入用户失败，账号：{}", user.getUserAccount(), ex);
+                    addImportError(result, rows.get(i).line(), user.getUserAccount(), "写入失败");
+                }
+            }
+        }
+    }
+
+    /**
+     * 导入成功后同步搜索索引和账号布隆过滤器（批量写入不经过 save）
+     */
+    private void onUserImported(User user, UserImportResultVO result) {
+        result.setSuccessCount(result.getSuccessCount() + 1);
+        userSearchIndexManager.index(user);
+        userAccountBloomFilter.put(user.getUserAccount());
+    }
+
+    private void addImportError(UserImportResultVO result, long line, String userAccount, String message) {
+        result.setFailedCount(result.getFailedCount() + 1);
+        result.getErrors().add(new UserImportErrorVO(line, userAccount, message));
+    }
+
+    /**
+     * 批量获取脱敏后的用户信息
+     *
+     * @param ids 用户 id 列表
+     * @return 按请求顺序排列的用户信息及不存在的 id
+     */
+    @Override
+    @UseReplica
+    public UserBatchVO getUserVOBatch(List<Long> ids) {
+        ThrowUtils.throwIf(CollUtil.isEmpty(ids), ErrorCode.PARAMS_ERROR, "用户 id 列表为空");
+        // 去重并保持请求顺序
+        Set<Long> idSet = new LinkedHashSet<>(ids);
+        ThrowUtils.throwIf(idSet.contains(null), ErrorCode.PARAMS_ERROR, "用户 id 不能为空");
+        ThrowUtils.throwIf(idSet.size() > userBatchLoaderProperties.getMaxRequestIds()
+                , ErrorCode.PARAMS_ERROR, "单次最多查询 " + userBatchLoaderProperties.getMaxRequestIds() + " 个用户");
+        List<User> userList = this.listByIds(idSet);
+        Map<Long, User> userMap = new HashMap<>(userList.size() * 2);
+        for (User user : userList) {
+            userMap.put(user.getId(), user);
+        }
+        List<UserVO> userVOList = new ArrayList<>(userList.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : idSet) {
+            User user = userMap.get(id);
+            if (user == null) {
+                missingIds.add(id);
+            } else {
+                userVOList.add(this.getUserVO(user));
+            }
+        }
+        UserBatchVO userBatchVO = new UserBatchVO();
+        userBatchVO.setUsers(userVOList);
+        userBatchVO.setMissingIds(missingIds);
+        return userBatchVO;
     }
 
     /**
@@ -214,6 +671,34 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public QueryWrapper getUserQueryWrapper(UserQueryRequest userQueryRequest) {
+        UserFilter userFilter = this.buildUserFilter(userQueryRequest);
+        QueryWrapper queryWrapper = userFilter.queryWrapper();
+        // 排序字段由查询计划校验，无法走索引的排序被拒绝或改写
+        UserQueryPlanner.Plan plan = userQueryPlanner.plan(userQueryRequest.getSortField(),
+                userFilter.equalityFields(), userFilter.selective());
+        if (plan.sortField() != null) {
+            queryWrapper.orderBy(plan.sortField(), !"descend".equals(userQueryRequest.getSortOrder()));
+        }
+        return queryWrapper;
+    }
+
+    /**
+     * 用户过滤条件
+     *
+     * @param queryWrapper   查询条件（不含排序）
+     * @param equalityFields 带等值条件的字段
+     * @param selective      结果是否已被主键或搜索索引限定在少量行内
+     */
+    private record UserFilter(QueryWrapper queryWrapper, Set<String> equalityFields, boolean selective) {
+    }
+
+    /**
+     * 构造用户过滤条件
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 过滤条件
+     */
+    private UserFilter buildUserFilter(UserQueryRequest userQueryRequest) {
         ThrowUtils.throwIf(userQueryRequest == null
                 , ErrorCode.PARAMS_ERROR, "请求参数为空");
         Long id = userQueryRequest.getId();
@@ -221,14 +706,391 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         String userAccount = userQueryRequest.getUserAccount();
         String userProfile = userQueryRequest.getUserProfile();
         String userRole = userQueryRequest.getUserRole();
-        String sortField = userQueryRequest.getSortField();
-        String sortOrder = userQueryRequest.getSortOrder();
-        return QueryWrapper.create()
+        UserMatchModeEnum matchMode = StrUtil.isEmpty(userQueryRequest.getMatchMode()) ? UserMatchModeEnum.CONTAINS
+                : UserMatchModeEnum.getEnumByValue(userQueryRequest.getMatchMode());
+        ThrowUtils.throwIf(matchMode == null, ErrorCode.PARAMS_ERROR, "不支持的匹配方式");
+        boolean prefix = matchMode == UserMatchModeEnum.PREFIX;
+        QueryWrapper queryWrapper = QueryWrapper.create()
                 .eq("id", id)
-                .eq("userRole", userRole)
-                .like("userAccount", userAccount)
-                .like("userName", userName)
-                .like("userProfile", userProfile)
-                .orderBy(sortField, "descend".equals(sortOrder));
+                .eq("userRole", userRole);
+        Set<String> equalityFields = new HashSet<>();
+        if (id != null) {
+            equalityFields.add("id");
+        }
+        if (userRole != null) {
+            equalityFields.add("userRole");
+        }
+        // 包含匹配优先通过本地索引解析为候选 id 缩小范围，再由 LIKE 校验；
+        // 前缀匹配在账号、昵称上直接走数据库索引的范围扫描
+        // 完整时间点需在查索引之前读取：查询期间完成的重建只会让索引更完整
+        LocalDateTime indexCompleteSince = userSearchIndexManager.getCompleteSince();
+        Set<Long> candidateIds = null;
+        candidateIds = this.applyTextFilter(queryWrapper, candidateIds, "userAccount",
+                UserSearchIndexManager.Field.USER_ACCOUNT, userAccount, prefix, true);
+        candidateIds = this.applyTextFilter(queryWrapper, candidateIds, "userName",
+                UserSearchIndexManager.Field.USER_NAME, userName, prefix, true);
+        candidateIds = this.applyTextFilter(queryWrapper, candidateIds, "userProfile",
+                UserSearchIndexManager.Field.USER_PROFILE, userProfile, prefix, false);
+        if (candidateIds != null && indexCompleteSince != null) {
+            // 本地索引不含其他节点在最近一次重建之后的写入，这些用户按 updateTime 补上，避免漏查
+            Set<Long> ids = candidateIds;
+            queryWrapper.and(wrapper -> {
+                if (ids.isEmpty()) {
+                    wrapper.where("updateTime >= ?", indexCompleteSince);
+                } else {
+                    wrapper.in("id", ids).or("updateTime >= ?", indexCompleteSince);
+                }
+            });
+        } else {
+            candidateIds = null;
+        }
+        return new UserFilter(queryWrapper, equalityFields, id != null || candidateIds != null);
+    }
+
+    /**
+     * 应用一个文本查询条件
+     *
+     * @param queryWrapper 查询条件
+     * @param candidateIds 已有的候选 id（null 表示尚未通过索引过滤）
+     * @param column       列名
+     * @param field        索引字段
+     * @param keyword      关键词
+     * @param prefix       是否前缀匹配
+     * @param dbIndexed    数据库中该列是否有索引
+     * @return 与本条件取交集后的候选 id
+     */
+    private Set<Long> applyTextFilter(QueryWrapper queryWrapper, Set<Long> candidateIds, String column,
+                                      UserSearchIndexManager.Field field, String keyword, boolean prefix,
+                                      boolean dbIndexed) {
+        if (keyword == null) {
+            return candidateIds;
+        }
+        // LIKE 条件始终保留，由数据库做最终判定：本地索引只在本节点增量维护、按 NFKD 近似排序规则，
+        // 候选 id 只用于缩小范围，LIKE 只在这些行上校验
+        if (prefix) {
+            queryWrapper.likeLeft(column, keyword);
+            if (dbIndexed) {
+                return candidateIds;
+            }
+        } else {
+            queryWrapper.like(column, keyword);
+        }
+        // 前缀匹配的结果是包含匹配的子集，没有数据库索引的列仍用本地索引缩小范围
+        Set<Long> ids = userSearchIndexManager.search(field, keyword);
+        if (ids == null) {
+            return candidateIds;
+        }
+        if (candidateIds == null) {
+            return new HashSet<>(ids);
+        }
+        candidateIds.retainAll(ids);
+        return candidateIds;
+    }
+
+    /**
+     * 分页获取脱敏后的用户信息列表
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 分页结果
+     */
+    @Override
+    @UseReplica
+    public Page<UserVO> listUserVOByPage(UserQueryRequest userQueryRequest) {
+        ThrowUtils.throwIf(userQueryRequest == null, ErrorCode.PARAMS_ERROR, "请求参数为空");
+        long pageNum = userQueryRequest.getCurrent();
+        long pageSize = userQueryRequest.getPageSize();
+        ThrowUtils.throwIf(pageNum <= 0 || pageSize <= 0, ErrorCode.PARAMS_ERROR, "分页参数错误");
+        QueryWrapper queryWrapper = this.getUserQueryWrapper(userQueryRequest);
+        // 1. 获取总数（缓存 / 估算 / 不查询）
+        UserCount userCount = null;
+        if (userQueryRequest.isSearchCount()) {
+            QueryWrapper countWrapper = queryWrapper.clone();
+            CPI.setOrderBys(countWrapper, new ArrayList<>());
+            userCount = this.countUser(userQueryRequest, countWrapper);
+        }
+        // 2. 查询当前页数据
+        List<User> userList;
+        if (userCount != null && userCount.exact()) {
+            // 总数已知，交给分页插件判断页码是否越界，不再重复 COUNT
+            userList = this.page(Page.of(pageNum, pageSize, userCount.totalRow()), queryWrapper).getRecords();
+        } else {
+            // 不查总数或总数不精确（估算值、缓存值）时，直接按偏移量取数据，避免按过时的总数判定页码越界
+            queryWrapper.limit((pageNum - 1) * pageSize, pageSize);
+            userList = this.list(queryWrapper);
+        }
+        // 3. 转换为封装类
+        long totalRow = userCount == null ? 0 : userCount.totalRow();
+        boolean exact = userCount == null || userCount.exact();
+        CountAwarePage<UserVO> userVOPage = new CountAwarePage<>(pageNum, pageSize, totalRow, exact);
+        userVOPage.setRecords(this.getUserVOList(userList));
+        return userVOPage;
+    }
+
+    /**
+     * 用户总数及其是否精确
+     *
+     * @param totalRow 总数
+     * @param exact    是否精确
+     */
+    private record UserCount(long totalRow, boolean exact) {
+    }
+
+    /**
+     * 查询用户总数：无过滤条件且允许估算时使用表统计信息，否则使用 COUNT 结果（优先取缓存）；
+     * 只有本次实际执行 COUNT 时才标记为精确，缓存的结果可能未包含其他节点最近的写入
+     *
+     * @param userQueryRequest 用户查询请求
+     * @param countWrapper     不含排序的查询条件
+     * @return 总数
+     */
+    private UserCount countUser(UserQueryRequest userQueryRequest, QueryWrapper countWrapper) {
+        if (userQueryRequest.isApproximateCount() && UserCountCacheManager.isUnfiltered(userQueryRequest)) {
+            Long approximateCount = userCountCacheManager.getApproximateCount(key -> {
+                try {
+                    return this.mapper.selectApproximateCount();
+                } catch (Exception e) {
+                    log.warn("读取用户表统计信息失败，改用精确计数", e);
+                    return null;
+                }
+            });
+            if (approximateCount != null) {
+                return new UserCount(approximateCount, false);
+            }
+        }
+        UserCountCacheManager.CountResult countResult = userCountCacheManager.getCount(userQueryRequest,
+                key -> this.mapper.selectCountByQuery(countWrapper));
+        return new UserCount(countResult.count(), countResult.loaded());
+    }
+
+    /**
+     * 游标分页获取脱敏后的用户信息列表
+     *
+     * @param userQueryRequest 用户查询请求
+     * @return 游标分页结果
+     */
+    @Override
+    @UseReplica
+    public CursorPage<UserVO> listUserVOByCursor(UserQueryRequest userQueryRequest) {
+        ThrowUtils.throwIf(userQueryRequest == null, ErrorCode.PARAMS_ERROR, "请求参数为空");
+        int pageSize = userQueryRequest.getPageSize();
+        ThrowUtils.throwIf(pageSize <= 0, ErrorCode.PARAMS_ERROR, "页面大小错误");
+        // 1. 确定排序规则：带游标时以游标为准，保证翻页过程中排序不变
+        PageCursor cursor = PageCursor.decode(userQueryRequest.getCursor());
+        String sortField = cursor != null ? cursor.getSortField()
+                : StrUtil.blankToDefault(userQueryRequest.getSortField(), "id");
+        String sortOrder = cursor != null ? cursor.getSortOrder() : userQueryRequest.getSortOrder();
+        ThrowUtils.throwIf(!CURSOR_SORT_FIELDS.containsKey(sortField)
+                , ErrorCode.PARAMS_ERROR, "不支持的排序字段");
+        boolean descend = "descend".equals(sortOrder);
+        boolean backward = cursor != null && cursor.isBackward();
+        // 2. 复用原有的过滤条件，排序字段由查询计划校验（被改写时游标随之使用新字段）
+        UserFilter userFilter = this.buildUserFilter(userQueryRequest);
+        QueryWrapper queryWrapper = userFilter.queryWrapper();
+        UserQueryPlanner.Plan plan = userQueryPlanner.plan(sortField, userFilter.equalityFields(),
+                userFilter.selective());
+        if (plan.sortField() != null) {
+            sortField = plan.sortField();
+        }
+        UserCount userCount = userQueryRequest.isSearchCount()
+                ? this.countUser(userQueryRequest, queryWrapper) : null;
+        // 3. 拼接定位条件：向前翻页时反转比较方向和排序方向，查完再翻转回来
+        boolean scanDescend = descend != backward;
+        if (cursor != null) {
+            String op = scanDescend ? "<" : ">";
+            Object sortValue = parseCursorSortValue(sortField, cursor.getSortValue());
+            if ("id".equals(sortField)) {
+                queryWrapper.and("`id` " + op + " ?", cursor.getLastId());
+            } else {
+                queryWrapper.and(String.format("(`%s` %s ? OR (`%s` = ? AND `id` %s ?))", sortField, op, sortField, op),
+                        sortValue, sortValue, cursor.getLastId());
+            }
+        }
+        if (!"id".equals(sortField)) {
+            queryWrapper.orderBy(sortField, !scanDescend);
+        }
+        queryWrapper.orderBy("id", !scanDescend);
+        // 多查一条用于判断是否还有更多数据
+        queryWrapper.limit(pageSize + 1);
+        List<User> userList = this.list(queryWrapper);
+        boolean hasMore = userList.size() > pageSize;
+        if (hasMore) {
+            userList = new ArrayList<>(userList.subList(0, pageSize));
+        }
+        if (backward) {
+            Collections.reverse(userList);
+        }
+        // 4. 组装结果和前后游标
+        CursorPage<UserVO> cursorPage = new CursorPage<>();
+        cursorPage.setRecords(this.getUserVOList(userList));
+        cursorPage.setPageSize(pageSize);
+        if (userCount != null) {
+            cursorPage.setTotalRow(userCount.totalRow());
+            cursorPage.setTotalRowExact(userCount.exact());
+        }
+        cursorPage.setHasNext(backward || hasMore);
+        cursorPage.setHasPrev(backward ? hasMore : cursor != null);
+        if (!userList.isEmpty()) {
+            if (cursorPage.isHasNext()) {
+                User last = userList.get(userList.size() - 1);
+                cursorPage.setNextCursor(buildPageCursor(sortField, sortOrder, last, false).encode());
+            }
+            if (cursorPage.isHasPrev()) {
+                User first = userList.get(0);
+                cursorPage.setPrevCursor(buildPageCursor(sortField, sortOrder, first, true).encode());
+            }
+        }
+        return cursorPage;
+    }
+
+    /**
+     * 流式导出脱敏后的用户信息
+     *
+     * @param queryWrapper 数据查询参数（不含分页）
+     * @param format       导出格式
+     * @param gzip         是否 gzip 压缩
+     * @param outputStream 输出流（不会被关闭）
+     * @return 导出行数
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @UseReplica
+    public long exportUserVO(QueryWrapper queryWrapper, UserExportFormatEnum format, boolean gzip,
+                             OutputStream outputStream) throws IOException {
+        ThrowUtils.throwIf(queryWrapper == null || format == null, ErrorCode.PARAMS_ERROR);
+        OutputStream target = StreamUtils.nonClosing(outputStream);
+        if (gzip) {
+            target = new GZIPOutputStream(target, 8192);
+        }
+        long rows = 0;
+        // 游标需要在事务内读完，读取期间每次只持有一行
+        try (Cursor<User> cursor = this.mapper.selectStreamByQuery(queryWrapper);
+             UserExportWriter writer = UserExportWriter.create(format, target, objectMapper)) {
+            for (User user : cursor) {
+                writer.write(this.getUserVO(user));
+                rows++;
+            }
+        }
+        log.info("导出用户完成，格式：{}，压缩：{}，行数：{}", format.getValue(), gzip, rows);
+        return rows;
+    }
+
+    /**
+     * 根据边界记录构造游标
+     */
+    private PageCursor buildPageCursor(String sortField, String sortOrder, User user, boolean backward) {
+        Object sortValue = CURSOR_SORT_FIELDS.get(sortField).apply(user);
+        return new PageCursor(sortField, sortOrder, sortValue == null ? null : sortValue.toString(),
+                user.getId(), backward);
+    }
+
+    /**
+     * 将游标中的排序值还原为列类型
+     */
+    private Object parseCursorSortValue(String sortField, String sortValue) {
+        ThrowUtils.throwIf(sortValue == null, ErrorCode.PARAMS_ERROR, "游标无效");
+        try {
+            return switch (sortField) {
+                case "id" -> Long.valueOf(sortValue);
+                case "createTime", "updateTime", "editTime" -> LocalDateTime.parse(sortValue);
+                default -> sortValue;
+            };
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+
+    /**
+     * 保存用户，并同步分页总数缓存、搜索索引和账号布隆过滤器
+     *
+     * @param entity 用户
+     * @return 是否保存成功
+     */
+    @Override
+    public boolean save(User entity) {
+        boolean result = super.save(entity);
+        userCountCacheManager.invalidateAll();
+        if (result) {
+            userSearchIndexManager.index(entity);
+            userAccountBloomFilter.put(entity.getUserAccount());
+        }
+        return result;
+    }
+
+    /**
+     * 根据 id 更新用户，并同步本地缓存、分页总数缓存、搜索索引和账号布隆过滤器
+     *
+     * @param entity      用户
+     * @param ignoreNulls 是否忽略空值字段
+     * @return 是否更新成功
+     */
+    @Override
+    public boolean updateById(User entity, boolean ignoreNulls) {
+        boolean result = super.updateById(entity, ignoreNulls);
+        userCacheManager.invalidate(entity.getId());
+        userCountCacheManager.invalidateAll();
+        if (result) {
+            userSearchIndexManager.update(entity, ignoreNulls);
+            userAccountBloomFilter.put(entity.getUserAccount());
+        }
+        return result;
+    }
+
+    /**
+     * 根据 id 删除用户，并同步本地缓存、分页总数缓存和搜索索引
+     *
+     * @param id 用户 id
+     * @return 是否删除成功
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        Long userId = Convert.toLong(id);
+        userCacheManager.invalidate(userId);
+        userCountCacheManager.invalidateAll();
+        if (result) {
+            userSearchIndexManager.remove(userId);
+        }
+        return result;
+    }
+
+    /**
+     * 恢复已归档的用户，并同步分页总数缓存、搜索索引和账号布隆过滤器
+     *
+     * @param id 用户 id
+     */
+    @Override
+    public void restoreArchivedUser(long id) {
+        userArchiveManager.restore(id);
+        userCountCacheManager.invalidateAll();
+        User user = this.mapper.selectOneById(id);
+        if (user != null) {
+            userSearchIndexManager.index(user);
+            userAccountBloomFilter.put(user.getUserAccount());
+        }
+    }
+
+    /**
+     * 查询用户最近的登录记录（按时间倒序）
+     *
+     * @param userLoginLogQueryRequest 查询请求
+     * @return 登录记录
+     */
+    @Override
+    public List<UserLoginLog> listRecentLogins(UserLoginLogQueryRequest userLoginLogQueryRequest) {
+        ThrowUtils.throwIf(userLoginLogQueryRequest == null, ErrorCode.PARAMS_ERROR, "请求参数为空");
+        Long userId = userLoginLogQueryRequest.getUserId();
+        String userAccount = userLoginLogQueryRequest.getUserAccount();
+        ThrowUtils.throwIf(userId == null && StrUtil.isBlank(userAccount)
+                , ErrorCode.PARAMS_ERROR, "用户 id 和账号不能都为空");
+        int limit = userLoginLogQueryRequest.getLimit();
+        ThrowUtils.throwIf(limit <= 0 || limit > loginAuditProperties.getMaxQueryLimit()
+                , ErrorCode.PARAMS_ERROR, "返回条数错误");
+        // 自增 id 与登录时间同序，按 id 倒序可直接使用 (userId, id) / (userAccount, id) 索引
+        QueryWrapper queryWrapper = QueryWrapper.create()
+                .eq("userId", userId)
+                .eq("userAccount", StrUtil.blankToDefault(userAccount, null))
+                .orderBy("id", false)
+                .limit(limit);
+        return userLoginLogMapper.selectListByQuery(queryWrapper);
     }
 }
@@ -0,0 +1,52 @@
+package com.ping.pingaicodegeneration.session;
+
+import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
+
+import java.time.ZoneId;
+
+/**
+ * 会话中保存的登录凭证
+ * <p>
+ * 只保存 id、角色和版本戳，不再把整个 User 放进会话
+ *
+ * @param userId      用户 id
+ * @param role        用户角色，未知角色为 null
+ * @param version     用户版本（updateTime 毫秒值），用于判断凭证中的角色是否过期
+ * @param validatedAt 凭证最近一次与数据库核对的时间（毫秒）
+ */
+public record LoginPrincipal(long userId, UserRoleEnum role, long version, long validatedAt) {
+
+    /**
+     * 根据用户记录生成凭证
+     *
+     * @param user        用户
+     * @param validatedAt 核对时间
+     * @return 凭证
+     */
+    public static LoginPrincipal of(User user, long validatedAt) {
+        return new LoginPrincipal(user.getId(), UserRoleEnum.getEnumByValue(user.getUserRole()), versionOf(user), validatedAt);
+    }
+
+    /**
+     * 用户版本（updateTime 毫秒值，为空时为 0）
+     *
+     * @param user 用户
+     * @return 版本
+     */
+    public static long versionOf(User user) {
+        return user.getUpdateTime() == null ? 0
+                : user.getUpdateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 凭证是否仍在有效期内（可以不查库直接使用其中的角色）
+     *
+     * @param now        当前时间（毫秒）
+     * @param ttlMillis  有效期（毫秒）
+     * @return 是否有效
+     */
+    public boolean isFresh(long now, long ttlMillis) {
+        return now - validatedAt < ttlMillis;
+    }
+}
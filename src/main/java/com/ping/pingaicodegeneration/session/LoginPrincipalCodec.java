@@ -0,0 +1,88 @@
+package com.ping.pingaicodegeneration.session;
+
+import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 登录凭证的二进制编解码
+ * <p>
+ * 格式：格式版本(1) + userId(8) + 角色值长度(1) + 角色值(UTF-8，即 {@link UserRoleEnum#getValue()}) + version(8) + validatedAt(8)
+ * <p>
+ * 角色按取值而不是枚举序号保存，枚举增删、调整顺序不会改变已有会话中的角色；
+ * 无法识别的角色值及旧格式（按序号保存角色）的凭证解码为未核对状态，下次使用前重新查库核对
+ */
+public class LoginPrincipalCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+
+    /**
+     * 按枚举序号保存角色的旧格式（固定 26 字节）
+     */
+    private static final byte LEGACY_FORMAT_VERSION = 1;
+
+    private static final int LEGACY_LENGTH = 1 + 8 + 1 + 8 + 8;
+
+    /**
+     * 不含角色值的长度
+     */
+    private static final int FIXED_LENGTH = 1 + 8 + 1 + 8 + 8;
+
+    private LoginPrincipalCodec() {
+    }
+
+    /**
+     * 编码
+     *
+     * @param principal 凭证
+     * @return 字节数组
+     */
+    public static byte[] encode(LoginPrincipal principal) {
+        byte[] role = principal.role() == null ? new byte[0]
+                : principal.role().getValue().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(FIXED_LENGTH + role.length)
+                .put(FORMAT_VERSION)
+                .putLong(principal.userId())
+                .put((byte) role.length)
+                .put(role)
+                .putLong(principal.version())
+                .putLong(principal.validatedAt())
+                .array();
+    }
+
+    /**
+     * 解码
+     *
+     * @param bytes 字节数组
+     * @return 凭证，格式不识别时返回 null
+     */
+    public static LoginPrincipal decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == LEGACY_FORMAT_VERSION && bytes.length == LEGACY_LENGTH) {
+            // 旧格式中的角色序号不可信，只取 userId，核对时间记为 0
+            return new LoginPrincipal(ByteBuffer.wrap(bytes, 1, 8).getLong(), null, 0, 0);
+        }
+        if (bytes[0] != FORMAT_VERSION || bytes.length < FIXED_LENGTH
+                || bytes.length != FIXED_LENGTH + Byte.toUnsignedInt(bytes[9])) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        long userId = buffer.getLong();
+        byte[] roleValue = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(roleValue);
+        long version = buffer.getLong();
+        long validatedAt = buffer.getLong();
+        if (roleValue.length == 0) {
+            return new LoginPrincipal(userId, null, version, validatedAt);
+        }
+        UserRoleEnum role = UserRoleEnum.getEnumByValue(new String(roleValue, StandardCharsets.UTF_8));
+        if (role == null) {
+            // 不认识的角色值不作为任何角色使用，按未核对处理
+            return new LoginPrincipal(userId, null, version, 0);
+        }
+        return new LoginPrincipal(userId, role, version, validatedAt);
+    }
+}
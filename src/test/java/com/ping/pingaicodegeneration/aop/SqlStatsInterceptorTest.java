@@ -0,0 +1,61 @@
+package com.ping.pingaicodegeneration.aop;
+
+import com.ping.pingaicodegeneration.config.SqlMonitorProperties;
+import com.ping.pingaicodegeneration.manager.SqlStatsManager;
+import com.ping.pingaicodegeneration.model.vo.SqlStatsVO;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.plugin.Invocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SQL 执行统计：成功与失败的执行都计入耗时，失败单独计数
+ */
+class SqlStatsInterceptorTest {
+
+    private SqlStatsManager sqlStatsManager;
+
+    private SqlStatsInterceptor interceptor;
+
+    private StatementHandler statementHandler;
+
+    @BeforeEach
+    void setUp() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setExplainEnabled(false);
+        sqlStatsManager = new SqlStatsManager(properties);
+        interceptor = new SqlStatsInterceptor(sqlStatsManager, properties);
+        statementHandler = mock(StatementHandler.class);
+        BoundSql boundSql = mock(BoundSql.class);
+        when(boundSql.getSql()).thenReturn("update user set userName = ? where id = ?");
+        when(statementHandler.getBoundSql()).thenReturn(boundSql);
+    }
+
+    @Test
+    void recordsSuccessfulAndFailedExecutions() throws Throwable {
+        when(statementHandler.update(any())).thenReturn(1).thenThrow(new SQLException("Lock wait timeout exceeded"));
+        interceptor.intercept(updateInvocation());
+        assertThrows(Exception.class, () -> interceptor.intercept(updateInvocation()));
+        List<SqlStatsVO> top = sqlStatsManager.top(10);
+        assertEquals(1, top.size());
+        assertEquals(2L, top.get(0).getCount());
+        assertEquals(1L, top.get(0).getFailedCount());
+        assertEquals(1L, top.get(0).getRows());
+    }
+
+    private Invocation updateInvocation() throws NoSuchMethodException {
+        return new Invocation(statementHandler, StatementHandler.class.getMethod("update", Statement.class),
+                new Object[]{mock(Statement.class)});
+    }
+}
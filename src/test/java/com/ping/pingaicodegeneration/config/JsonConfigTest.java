@@ -0,0 +1,129 @@
+package com.ping.pingaicodegeneration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.mybatisflex.core.paginate.Page;
+import com.ping.pingaicodegeneration.common.BaseResponse;
+import com.ping.pingaicodegeneration.common.CountAwarePage;
+import com.ping.pingaicodegeneration.common.CursorPage;
+import com.ping.pingaicodegeneration.common.ResultUtils;
+import com.ping.pingaicodegeneration.exception.ErrorCode;
+import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserBatchVO;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * 调优后的序列化输出应与原有的 Bean 序列化逐字节一致
+ */
+class JsonConfigTest {
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        // 与 Spring Boot 默认配置一致，日期按 ISO 字符串输出
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 调优前的配置：只有 Long 转字符串
+     */
+    private static ObjectMapper referenceMapper() {
+        ObjectMapper objectMapper = builder().createXmlMapper(false).build();
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Long.class, ToStringSerializer.instance);
+        module.addSerializer(Long.TYPE, ToStringSerializer.instance);
+        objectMapper.registerModule(module);
+        return objectMapper;
+    }
+
+    private static UserVO userVO(long id) {
+        UserVO userVO = new UserVO();
+        userVO.setId(1_900_000_000_000_000_000L + id);
+        userVO.setUserAccount("account" + id);
+        userVO.setUserName("用户\"" + id + "\"\n");
+        userVO.setUserRole("user");
+        userVO.setCreateTime(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+        return userVO;
+    }
+
+    private static List<BaseResponse<?>> responses() {
+        List<UserVO> userVOList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            userVOList.add(userVO(i));
+        }
+        Page<UserVO> page = new Page<>(1, 10, 5);
+        page.setRecords(userVOList);
+        CountAwarePage<UserVO> countAwarePage = new CountAwarePage<>(2, 10, 100, false);
+        countAwarePage.setRecords(userVOList);
+        CursorPage<UserVO> cursorPage = new CursorPage<>();
+        cursorPage.setRecords(userVOList);
+        cursorPage.setPageSize(5);
+        cursorPage.setNextCursor("next");
+        cursorPage.setHasNext(true);
+        UserBatchVO userBatchVO = new UserBatchVO();
+        userBatchVO.setUsers(userVOList);
+        userBatchVO.setMissingIds(List.of(1L, 2L));
+        LoginUserVO loginUserVO = new LoginUserVO();
+        loginUserVO.setId(3L);
+        loginUserVO.setVipNumber(4L);
+        loginUserVO.setUpdateTime(LocalDateTime.of(2025, 5, 6, 7, 8, 9));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", 10L);
+        map.put("nested", ResultUtils.success(5L));
+        List<BaseResponse<?>> responses = new ArrayList<>();
+        responses.add(ResultUtils.success(page));
+        responses.add(ResultUtils.success(countAwarePage));
+        responses.add(ResultUtils.success(cursorPage));
+        responses.add(ResultUtils.success(userBatchVO));
+        responses.add(ResultUtils.success(loginUserVO));
+        responses.add(ResultUtils.success(userVO(9)));
+        responses.add(ResultUtils.success(123L));
+        responses.add(ResultUtils.success(true));
+        responses.add(ResultUtils.success("text"));
+        responses.add(ResultUtils.success(map));
+        responses.add(ResultUtils.success(null));
+        responses.add(ResultUtils.success());
+        responses.add(ResultUtils.error(ErrorCode.PARAMS_ERROR));
+        responses.add(ResultUtils.error(ErrorCode.SYSTEM_ERROR, "系统错误：\"\\\n"));
+        responses.add(new BaseResponse<>(200, 1L));
+        responses.add(new BaseResponse<>(200, null, null));
+        responses.add(new BaseResponse<>(500, null, "success"));
+        return responses;
+    }
+
+    @Test
+    void objectMapperOutputUnchanged() throws Exception {
+        ObjectMapper reference = referenceMapper();
+        ObjectMapper tuned = new JsonConfig().jacksonObjectMapper(builder());
+        for (BaseResponse<?> response : responses()) {
+            assertArrayEquals(reference.writeValueAsBytes(response), tuned.writeValueAsBytes(response),
+                    reference.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    void messageConverterOutputUnchanged() throws Exception {
+        ObjectMapper reference = referenceMapper();
+        BaseResponseHttpMessageConverter converter = new BaseResponseHttpMessageConverter(
+                new JsonConfig().jacksonObjectMapper(builder()));
+        for (BaseResponse<?> response : responses()) {
+            MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+            converter.write(response, BaseResponse.class, MediaType.APPLICATION_JSON, outputMessage);
+            assertArrayEquals(reference.writeValueAsBytes(response), outputMessage.getBodyAsBytes(),
+                    reference.writeValueAsString(response));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ping.pingaicodegeneration.convert;
+
+import com.ping.pingaicodegeneration.model.dto.UserAddRequest;
+import com.ping.pingaicodegeneration.model.dto.UserUpdateRequest;
+import com.ping.pingaicodegeneration.model.entity.User;
+import com.ping.pingaicodegeneration.model.vo.LoginUserVO;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * UserConvert 与 BeanUtils.copyProperties 的转换结果应完全一致
+ */
+class UserConvertTest {
+
+    private static User fullUser() {
+        LocalDateTime time = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        return User.builder()
+                .id(1L)
+                .userAccount("account")
+                .userPassword("password")
+                .userName("name")
+                .userAvatar("avatar")
+                .userProfile("profile")
+                .userRole("admin")
+                .vipExpireTime(time.plusDays(30))
+                .vipCode("vipCode")
+                .vipNumber(100L)
+                .shareCode("shareCode")
+                .inviteUser(2L)
+                .editTime(time.plusHours(1))
+                .createTime(time)
+                .updateTime(time.plusHours(2))
+                .isDelete(0)
+                .build();
+    }
+
+    @Test
+    void toUserVO() {
+        for (User user : new User[]{fullUser(), new User()}) {
+            UserVO expected = new UserVO();
+            BeanUtils.copyProperties(user, expected);
+            assertEquals(expected, UserConvert.INSTANCE.toUserVO(user));
+        }
+    }
+
+    @Test
+    void toLoginUserVO() {
+        for (User user : new User[]{fullUser(), new User()}) {
+            LoginUserVO expected = new LoginUserVO();
+            BeanUtils.copyProperties(user, expected);
+            assertEquals(expected, UserConvert.INSTANCE.toLoginUserVO(user));
+        }
+    }
+
+    @Test
+    void toUserFromAddRequest() {
+        UserAddRequest userAddRequest = new UserAddRequest();
+        userAddRequest.setUserName("name");
+        userAddRequest.setUserAccount("account");
+        userAddRequest.setUserAvatar("avatar");
+        userAddRequest.setUserProfile("profile");
+        userAddRequest.setUserRole("user");
+        for (UserAddRequest request : new UserAddRequest[]{userAddRequest, new UserAddRequest()}) {
+            User expected = new User();
+            BeanUtils.copyProperties(request, expected);
+            assertEquals(expected, UserConvert.INSTANCE.toUser(request));
+        }
+    }
+
+    @Test
+    void toUserFromUpdateRequest() {
+        UserUpdateRequest userUpdateRequest = new UserUpdateRequest();
+        userUpdateRequest.setId(1L);
+        userUpdateRequest.setUserName("name");
+        userUpdateRequest.setUserAccount("account");
+        userUpdateRequest.setUserAvatar("avatar");
+        userUpdateRequest.setUserProfile("profile");
+        userUpdateRequest.setUserRole("admin");
+        for (UserUpdateRequest request : new UserUpdateRequest[]{userUpdateRequest, new UserUpdateRequest()}) {
+            User expected = new User();
+            BeanUtils.copyProperties(request, expected);
+            assertEquals(expected, UserConvert.INSTANCE.toUser(request));
+        }
+    }
+
+    @Test
+    void nullSource() {
+        assertNull(UserConvert.INSTANCE.toUserVO(null));
+        assertNull(UserConvert.INSTANCE.toLoginUserVO(null));
+        assertNull(UserConvert.INSTANCE.toUser((UserAddRequest) null));
+        assertNull(UserConvert.INSTANCE.toUser((UserUpdateRequest) null));
+    }
+}
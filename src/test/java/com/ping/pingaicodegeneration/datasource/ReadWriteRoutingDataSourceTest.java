@@ -0,0 +1,173 @@
+package com.ping.pingaicodegeneration.datasource;
+
+import com.ping.pingaicodegeneration.annotation.UseReplica;
+import com.ping.pingaicodegeneration.aop.ReplicaRouteInterceptor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 读写分离路由：使用两个内嵌 H2 数据库分别作为主库和从库，通过查询结果判断连接来自哪个库
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private SwitchableDataSource replica;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = createDatabase("primary");
+        replica = new SwitchableDataSource(createDatabase("replica"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, "jdbc:h2:mem:primary", replicas, 0, 1);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        routingDataSource.close();
+    }
+
+    @Test
+    void readsOutsideReplicaScopeGoToPrimary() {
+        assertEquals("primary", currentNode());
+        assertEquals("replica", DataSourceRouteContext.callOnReplica(this::currentNode));
+        // 退出只读范围后恢复走主库
+        assertEquals("primary", currentNode());
+        assertEquals(1, routingDataSource.getReplicaRouteCount());
+    }
+
+    @Test
+    void annotatedMethodsGoToReplica() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new NodeQuery(jdbcTemplate));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReplicaRouteInterceptor());
+        NodeQuery nodeQuery = proxyFactory.getProxy();
+        assertEquals("replica", nodeQuery.readOnly());
+        assertEquals("primary", nodeQuery.readWrite());
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestGoToPrimary() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertEquals("replica", DataSourceRouteContext.callOnReplica(this::currentNode));
+
+        DataSourceRouteContext.markWritten(0);
+        assertEquals("primary", DataSourceRouteContext.callOnReplica(this::currentNode));
+        // 没有会话时不会为了固定主库而创建会话
+        assertNull(request.getSession(false));
+
+        // 新请求不受影响
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", DataSourceRouteContext.callOnReplica(this::currentNode));
+    }
+
+    @Test
+    void sessionStaysOnPrimaryForPinWindow() {
+        MockHttpServletRequest writeRequest = new MockHttpServletRequest();
+        writeRequest.getSession(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(writeRequest));
+        DataSourceRouteContext.markWritten(60_000);
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setSession(writeRequest.getSession());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+        assertEquals("primary", DataSourceRouteContext.callOnReplica(this::currentNode));
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimaryUntilRecovered() {
+        replica.down = true;
+        assertEquals("primary", DataSourceRouteContext.callOnReplica(this::currentNode));
+        assertFalse(routingDataSource.getReplicaHealth().get("replica-0"));
+        assertEquals(1, routingDataSource.getFallbackCount());
+
+        // 恢复前探活仍失败
+        routingDataSource.checkHealth();
+        assertFalse(routingDataSource.getReplicaHealth().get("replica-0"));
+
+        replica.down = false;
+        routingDataSource.checkHealth();
+        assertTrue(routingDataSource.getReplicaHealth().get("replica-0"));
+        assertEquals("replica", DataSourceRouteContext.callOnReplica(this::currentNode));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource createDatabase(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(32))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * 可以模拟宕机的数据源
+     */
+    static class SwitchableDataSource extends DelegatingDataSource {
+
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * 用于验证注解路由的查询类
+     */
+    static class NodeQuery {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        NodeQuery(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @UseReplica
+        public String readOnly() {
+            return jdbcTemplate.queryForObject("select name from node", String.class);
+        }
+
+        public String readWrite() {
+            return jdbcTemplate.queryForObject("select name from node", String.class);
+        }
+    }
+}
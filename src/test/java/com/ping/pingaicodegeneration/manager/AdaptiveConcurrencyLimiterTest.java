@@ -0,0 +1,98 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.ConcurrencyLimitProperties;
+import com.ping.pingaicodegeneration.model.enums.LoadPriorityEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 自适应并发限制：优先级配额与随耗时调整上限
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, clock::get);
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinWindowSamples(5);
+    }
+
+    @Test
+    void lowerPriorityGetsSmallerShare() {
+        assertEquals(20, limiter.getLimit());
+        assertEquals(10, acquireAll(LoadPriorityEnum.LOW));
+        assertEquals(6, acquireAll(LoadPriorityEnum.NORMAL));
+        assertEquals(4, acquireAll(LoadPriorityEnum.CRITICAL));
+        assertEquals(1, limiter.getRejectedCount(LoadPriorityEnum.LOW));
+        assertEquals(1, limiter.getRejectedCount(LoadPriorityEnum.NORMAL));
+        assertEquals(1, limiter.getRejectedCount(LoadPriorityEnum.CRITICAL));
+
+        limiter.release(LoadPriorityEnum.CRITICAL, 0);
+        assertFalse(limiter.tryAcquire(LoadPriorityEnum.NORMAL));
+        assertTrue(limiter.tryAcquire(LoadPriorityEnum.CRITICAL));
+    }
+
+    @Test
+    void limitGrowsWithoutQueueingAndShrinksWhenLatencyRises() {
+        for (int i = 0; i < 10; i++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "无排队时上限应增长：" + grown);
+
+        // 数据库变慢，耗时升到基线的 10 倍
+        runWindow(grown, 100);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk <= grown / 2 + 1, "耗时飙升时上限应快速收缩：" + grown + " -> " + shrunk);
+        for (int i = 0; i < 20; i++) {
+            runWindow(limiter.getLimit(), 100);
+        }
+        assertEquals(properties.getMinLimit(), limiter.getLimit());
+    }
+
+    @Test
+    void limitDoesNotGrowWhenUnderused() {
+        // 并发数始终不到上限的一半
+        for (int i = 0; i < 10; i++) {
+            runWindow(9, 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private int acquireAll(LoadPriorityEnum priority) {
+        int acquired = 0;
+        while (limiter.tryAcquire(priority)) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    /**
+     * 以指定并发数跑完一个采样窗口
+     */
+    private void runWindow(int concurrency, long rttMillis) {
+        int acquired = 0;
+        for (int i = 0; i < concurrency; i++) {
+            if (limiter.tryAcquire(LoadPriorityEnum.CRITICAL)) {
+                acquired++;
+            }
+        }
+        // 最后一个请求在窗口结束后完成，触发一次调整
+        for (int i = 1; i < acquired; i++) {
+            limiter.release(LoadPriorityEnum.CRITICAL, TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(properties.getWindowMillis()));
+        limiter.release(LoadPriorityEnum.CRITICAL, TimeUnit.MILLISECONDS.toNanos(rttMillis));
+    }
+}
@@ -0,0 +1,72 @@
+package com.ping.pingaicodegeneration.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 无锁环形缓冲区：满时拒绝，多生产者并发写入不丢不重
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void rejectsWhenFullAndReusesSlots() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(5));
+        assertTrue(buffer.offer(6));
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3, 5, 6), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void concurrentProducersSingleConsumer() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        Set<Integer> consumed = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        if (!buffer.offer(base + i)) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            List<Integer> batch = new ArrayList<>();
+            while (done.getCount() > 0 || buffer.size() > 0) {
+                buffer.drainTo(batch, 256);
+                for (Integer value : batch) {
+                    assertTrue(consumed.add(value));
+                }
+                batch.clear();
+            }
+        }
+        assertEquals(producers * perProducer, consumed.size() + rejected.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.PasswordHashProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 密码加密：pbkdf2 每个密码随机盐，切换算法后旧格式仍可校验
+ */
+class PasswordHashManagerTest {
+
+    @Test
+    void pbkdf2UsesPerPasswordSalt() {
+        PasswordHashManager manager = new PasswordHashManager(pbkdf2Properties());
+        try {
+            String first = manager.hash("password123");
+            String second = manager.hash("password123");
+            assertTrue(first.startsWith("pbkdf2$1000$"));
+            assertNotEquals(first, second);
+            assertTrue(manager.matches("password123", first));
+            assertTrue(manager.matches("password123", second));
+            assertFalse(manager.matches("password124", first));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void legacyMd5StillMatchesAfterSwitchingAlgorithm() {
+        PasswordHashManager md5Manager = new PasswordHashManager(new PasswordHashProperties());
+        PasswordHashManager pbkdf2Manager = new PasswordHashManager(pbkdf2Properties());
+        try {
+            String legacy = md5Manager.hash("password123");
+            assertTrue(pbkdf2Manager.matches("password123", legacy));
+            assertFalse(pbkdf2Manager.matches("password124", legacy));
+            assertFalse(pbkdf2Manager.matches("password123", null));
+        } finally {
+            md5Manager.destroy();
+            pbkdf2Manager.destroy();
+        }
+    }
+
+    @Test
+    void needsRehashOnlyForOutdatedFormats() {
+        PasswordHashManager md5Manager = new PasswordHashManager(new PasswordHashProperties());
+        PasswordHashManager pbkdf2Manager = new PasswordHashManager(pbkdf2Properties());
+        try {
+            String legacy = md5Manager.hash("password123");
+            assertFalse(md5Manager.needsRehash(legacy));
+            assertTrue(pbkdf2Manager.needsRehash(legacy));
+            assertFalse(pbkdf2Manager.needsRehash(pbkdf2Manager.hash("password123")));
+            assertTrue(pbkdf2Manager.needsRehash("pbkdf2$500$00$00"));
+        } finally {
+            md5Manager.destroy();
+            pbkdf2Manager.destroy();
+        }
+    }
+
+    private static PasswordHashProperties pbkdf2Properties() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setAlgorithm("pbkdf2");
+        properties.setPbkdf2Iterations(1000);
+        properties.setThreads(1);
+        return properties;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 雪花 id 生成器：并发唯一性、时钟回拨与 id 结构
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 1680411660000L;
+
+    @Test
+    void idsAreUniqueUnderContention() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 5, 12, 0, 1, EPOCH, 0, 16, 2000,
+                System::currentTimeMillis);
+        int threads = 8;
+        int perThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet(threads * perThread);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void clockRollbackKeepsIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(EPOCH + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, 0, 2, 0, 0, EPOCH, 0, 1, 5, clock::get);
+        long previous = generator.nextId();
+        clock.addAndGet(-2);
+        // 每毫秒 4 个，回拨后沿用原时间戳，用完借用后续毫秒，逻辑时间最多领先系统时间 5 毫秒
+        for (int i = 0; i < 15; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(3, generator.getBorrowCount());
+        assertThrows(BusinessException.class, generator::nextId);
+        clock.addAndGet(10);
+        assertTrue(generator.nextId() > previous);
+    }
+
+    @Test
+    void restartsAfterPersistedTimestamp() {
+        AtomicLong clock = new AtomicLong(EPOCH + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 5, 12, 0, 1, EPOCH, EPOCH + 20_000, 16, 20_000,
+                clock::get);
+        assertEquals(20_001, generator.nextId() >>> 22);
+    }
+
+    @Test
+    void idLayout() {
+        AtomicLong clock = new AtomicLong(EPOCH + 123_456);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, 7, 10, 5, 100, EPOCH, 0, 1, 2000, clock::get);
+        long first = generator.nextId();
+        long second = generator.nextId();
+        assertEquals(123_456, first >>> 20);
+        assertEquals(5, (first >>> 17) & 0b111);
+        assertEquals(100, (first >>> 10) & 0x7F);
+        assertEquals(0, first & 0x3FF);
+        assertEquals(1, second & 0x3FF);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(5, 5, 12, 0, 32, EPOCH, 0, 1, 2000, clock::get));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.UserBatchLoaderProperties;
+import com.ping.pingaicodegeneration.datasource.DataSourceRouteContext;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import com.ping.pingaicodegeneration.mapper.UserMapper;
+import com.ping.pingaicodegeneration.model.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户批量加载器：合并查询、写后读绕过合并、关闭后的降级与等待超时
+ */
+class UserBatchLoaderTest {
+
+    private UserBatchLoaderProperties properties;
+
+    private UserMapper userMapper;
+
+    private UserBatchLoader userBatchLoader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserBatchLoaderProperties();
+        properties.setMaxWaitMillis(20);
+        properties.setTimeoutMillis(200);
+        userMapper = mock(UserMapper.class);
+        userBatchLoader = new UserBatchLoader(properties);
+        ReflectionTestUtils.setField(userBatchLoader, "userMapper", userMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        userBatchLoader.destroy();
+    }
+
+    @Test
+    void coalescesConcurrentLoadsIntoOneQuery() {
+        when(userMapper.selectListByIds(anyCollection())).thenReturn(List.of(user(1L), user(2L)));
+        var first = userBatchLoader.load(1L);
+        var second = userBatchLoader.load(2L);
+        var duplicate = userBatchLoader.load(1L);
+        assertEquals(1L, first.join().getId());
+        assertEquals(2L, second.join().getId());
+        assertEquals(first, duplicate);
+        verify(userMapper, times(1)).selectListByIds(anyCollection());
+    }
+
+    @Test
+    void loadsInlineAfterDestroy() {
+        userBatchLoader.destroy();
+        when(userMapper.selectOneById(any())).thenReturn(user(1L));
+        // 关闭后不再登记到等待窗口，相同 id 的后续请求也不会挂起
+        assertEquals(1L, userBatchLoader.get(1L).getId());
+        assertEquals(1L, userBatchLoader.get(1L).getId());
+        verify(userMapper, times(2)).selectOneById(any());
+        verify(userMapper, never()).selectListByIds(anyCollection());
+    }
+
+    @Test
+    void pinnedRequestReadsPrimaryOnCallerThread() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        DataSourceRouteContext.markWritten(0);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean onCallerPrimary = new AtomicBoolean();
+        when(userMapper.selectOneById(any())).thenAnswer(invocation -> {
+            onCallerPrimary.set(Thread.currentThread() == caller && !DataSourceRouteContext.isReplicaPreferred());
+            return user(1L);
+        });
+        // 写后读不经过合并线程（合并线程没有请求上下文，会读到从库）
+        assertEquals(1L, userBatchLoader.get(1L).getId());
+        assertTrue(onCallerPrimary.get());
+        verify(userMapper, never()).selectListByIds(anyCollection());
+    }
+
+    @Test
+    void getFailsAfterTimeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userMapper.selectListByIds(anyCollection())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        try {
+            assertThrows(BusinessException.class, () -> userBatchLoader.get(1L));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.model.enums.UserExportFormatEnum;
+import com.ping.pingaicodegeneration.model.vo.UserVO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 用户导出：CSV 字段转义与公式注入防护
+ */
+class UserExportWriterTest {
+
+    @Test
+    void csvEscapesFormulaPrefixes() throws IOException {
+        UserVO userVO = new UserVO();
+        userVO.setId(1L);
+        userVO.setUserAccount("=1+1");
+        userVO.setUserName("@SUM(A1)");
+        userVO.setUserAvatar("-2,3");
+        userVO.setUserProfile("a=b");
+        userVO.setUserRole("user");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (UserExportWriter writer = UserExportWriter.create(UserExportFormatEnum.CSV, outputStream, null)) {
+            writer.write(userVO);
+        }
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("1,'=1+1,'@SUM(A1),\"'-2,3\",a=b,user,", lines[1]);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.IdGeneratorProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户 id 生成器：未分配到工作节点或租约接近过期且续约失败时拒绝发号
+ */
+class UserIdGeneratorTest {
+
+    private IdWorkerLeaseManager idWorkerLeaseManager;
+
+    private UserIdGenerator userIdGenerator;
+
+    @BeforeEach
+    void setUp() {
+        idWorkerLeaseManager = mock(IdWorkerLeaseManager.class);
+        when(idWorkerLeaseManager.claim(anyLong(), anyLong(), anyString(), anyLong()))
+                .thenReturn(new IdWorkerLeaseManager.Lease(3, 0));
+        userIdGenerator = new UserIdGenerator();
+        ReflectionTestUtils.setField(userIdGenerator, "idGeneratorProperties", new IdGeneratorProperties());
+        ReflectionTestUtils.setField(userIdGenerator, "idWorkerLeaseManager", idWorkerLeaseManager);
+        userIdGenerator.nextId();
+    }
+
+    @Test
+    void freshLeaseDoesNotTouchDatabase() {
+        userIdGenerator.nextId();
+        verify(idWorkerLeaseManager, never()).renew(anyLong(), anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void reclaimsBeforeIssuingWhenLeaseWasTakenOver() {
+        expireLease();
+        when(idWorkerLeaseManager.renew(anyLong(), eq(3L), anyString(), anyLong())).thenReturn(false);
+        when(idWorkerLeaseManager.claim(anyLong(), anyLong(), anyString(), anyLong()))
+                .thenReturn(new IdWorkerLeaseManager.Lease(7, 0));
+        userIdGenerator.nextId();
+        assertEquals(7, userIdGenerator.getGenerator().getWorkerId());
+    }
+
+    @Test
+    void refusesToIssueWhenRenewalFails() {
+        expireLease();
+        when(idWorkerLeaseManager.renew(anyLong(), anyLong(), anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        assertThrows(BusinessException.class, () -> userIdGenerator.nextId());
+    }
+
+    @Test
+    void refusesToIssueUntilWorkerClaimedThenRetriesFromHeartbeat() {
+        UserIdGenerator unclaimed = new UserIdGenerator();
+        IdWorkerLeaseManager failingLeaseManager = mock(IdWorkerLeaseManager.class);
+        when(failingLeaseManager.claim(anyLong(), anyLong(), anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new IdWorkerLeaseManager.Lease(5, 0));
+        ReflectionTestUtils.setField(unclaimed, "idGeneratorProperties", new IdGeneratorProperties());
+        ReflectionTestUtils.setField(unclaimed, "idWorkerLeaseManager", failingLeaseManager);
+        // 不再按本机地址散列兜底，避免与其他实例撞号
+        unclaimed.onApplicationReady();
+        assertNull(unclaimed.getGenerator());
+        unclaimed.heartbeat();
+        assertEquals(5, unclaimed.getGenerator().getWorkerId());
+        unclaimed.nextId();
+    }
+
+    @Test
+    void nextIdFailsWhileWorkerCannotBeClaimed() {
+        UserIdGenerator unclaimed = new UserIdGenerator();
+        IdWorkerLeaseManager failingLeaseManager = mock(IdWorkerLeaseManager.class);
+        when(failingLeaseManager.claim(anyLong(), anyLong(), anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        ReflectionTestUtils.setField(unclaimed, "idGeneratorProperties", new IdGeneratorProperties());
+        ReflectionTestUtils.setField(unclaimed, "idWorkerLeaseManager", failingLeaseManager);
+        assertThrows(BusinessException.class, unclaimed::nextId);
+    }
+
+    private void expireLease() {
+        ReflectionTestUtils.setField(userIdGenerator, "lastRenewNanos",
+                System.nanoTime() - TimeUnit.SECONDS.toNanos(55));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ping.pingaicodegeneration.manager;
+
+import com.ping.pingaicodegeneration.config.UserQueryPlanProperties;
+import com.ping.pingaicodegeneration.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 用户列表查询计划：按索引选择排序，拒绝或改写无索引排序
+ */
+class UserQueryPlannerTest {
+
+    private final UserQueryPlanProperties properties = new UserQueryPlanProperties();
+
+    private final UserQueryPlanner planner = new UserQueryPlanner();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(planner, "userQueryPlanProperties", properties);
+    }
+
+    @Test
+    void picksIndexMatchingSortAfterEqualityPrefix() {
+        assertEquals(new UserQueryPlanner.Plan("id", "PRIMARY"), planner.plan(null, Set.of(), false));
+        assertEquals(new UserQueryPlanner.Plan("createTime", "idx_createTime"),
+                planner.plan("createTime", Set.of(), false));
+        assertEquals(new UserQueryPlanner.Plan("updateTime", "idx_updateTime"),
+                planner.plan("updateTime", Set.of(), false));
+        assertEquals(new UserQueryPlanner.Plan("createTime", "idx_userRole_createTime"),
+                planner.plan("createTime", Set.of("userRole"), false));
+        // 排序字段已被等值条件固定
+        assertEquals(new UserQueryPlanner.Plan(null, null), planner.plan("userRole", Set.of("userRole"), false));
+    }
+
+    @Test
+    void unindexedSortRejectedUnlessSelective() {
+        assertThrows(BusinessException.class, () -> planner.plan("editTime", Set.of(), false));
+        assertThrows(BusinessException.class, () -> planner.plan("userProfile", Set.of(), true));
+        assertEquals(new UserQueryPlanner.Plan("editTime", null), planner.plan("editTime", Set.of(), true));
+        properties.setRejectUnindexedSort(false);
+        UserQueryPlanner.Plan plan = planner.plan("editTime", Set.of("userRole"), false);
+        assertEquals("id", plan.sortField());
+        assertNull(planner.plan("id", Set.of("id"), false).index());
+    }
+}
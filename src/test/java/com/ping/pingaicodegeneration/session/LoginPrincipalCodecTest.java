@@ -0,0 +1,39 @@
+package com.ping.pingaicodegeneration.session;
+
+import com.ping.pingaicodegeneration.model.enums.UserRoleEnum;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 登录凭证编解码：角色按取值保存，旧格式和不认识的角色不被信任
+ */
+class LoginPrincipalCodecTest {
+
+    @Test
+    void roundTripsRoleByValue() {
+        LoginPrincipal principal = new LoginPrincipal(42L, UserRoleEnum.ADMIN, 123L, 456L);
+        assertEquals(principal, LoginPrincipalCodec.decode(LoginPrincipalCodec.encode(principal)));
+        LoginPrincipal noRole = new LoginPrincipal(42L, null, 123L, 456L);
+        assertEquals(noRole, LoginPrincipalCodec.decode(LoginPrincipalCodec.encode(noRole)));
+    }
+
+    @Test
+    void unknownRoleAndLegacyFormatRequireRevalidation() {
+        byte[] role = "root".getBytes(StandardCharsets.UTF_8);
+        byte[] unknown = ByteBuffer.allocate(26 + role.length)
+                .put((byte) 2).putLong(42L).put((byte) role.length).put(role).putLong(123L).putLong(456L)
+                .array();
+        assertEquals(new LoginPrincipal(42L, null, 123L, 0), LoginPrincipalCodec.decode(unknown));
+        // 旧格式按枚举序号保存角色（1 = ADMIN），不再信任
+        byte[] legacy = ByteBuffer.allocate(26)
+                .put((byte) 1).putLong(42L).put((byte) 1).putLong(123L).putLong(456L)
+                .array();
+        assertEquals(new LoginPrincipal(42L, null, 0, 0), LoginPrincipalCodec.decode(legacy));
+        assertNull(LoginPrincipalCodec.decode(new byte[]{2, 0, 0}));
+    }
+}